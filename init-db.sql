@@ -53,11 +53,81 @@ CREATE TABLE IF NOT EXISTS file_versions (
     size BIGINT NOT NULL,
     storage_location VARCHAR(1000) NOT NULL,
     checksum VARCHAR(64) NOT NULL,
+    comment VARCHAR(500),
+    is_current BOOLEAN NOT NULL DEFAULT FALSE,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     created_by UUID REFERENCES users(id),
     UNIQUE(file_id, version_number)
 );
 
+-- Blobs Table (content-addressed objects shared by identical files)
+CREATE TABLE IF NOT EXISTS blobs (
+    checksum VARCHAR(64) PRIMARY KEY,
+    storage_location VARCHAR(1000) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Packs Table (large objects holding many small files back to back)
+CREATE TABLE IF NOT EXISTS packs (
+    location VARCHAR(1000) PRIMARY KEY,
+    size BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    retired_at TIMESTAMP
+);
+
+-- Pack Entries Table (offset index of small files inside packs)
+CREATE TABLE IF NOT EXISTS pack_entries (
+    id UUID PRIMARY KEY,
+    pack_location VARCHAR(1000),
+    pack_offset BIGINT,
+    size BIGINT NOT NULL,
+    staging_location VARCHAR(1000),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    packed_at TIMESTAMP,
+    deleted_at TIMESTAMP
+);
+
+-- Upload Sessions Table
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    folder_id UUID REFERENCES folders(id) ON DELETE SET NULL,
+    file_name VARCHAR(500) NOT NULL,
+    total_size BIGINT NOT NULL,
+    total_chunks INT NOT NULL,
+    content_type VARCHAR(100),
+    storage_location VARCHAR(1000) NOT NULL,
+    multipart_upload_id VARCHAR(500) NOT NULL,
+    upload_offset BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- File Chunks Table
+CREATE TABLE IF NOT EXISTS file_chunks (
+    id UUID PRIMARY KEY,
+    upload_session_id UUID NOT NULL REFERENCES upload_sessions(id) ON DELETE CASCADE,
+    file_id UUID,
+    chunk_number INT NOT NULL,
+    total_chunks INT NOT NULL,
+    chunk_size BIGINT NOT NULL,
+    checksum VARCHAR(64),
+    etag VARCHAR(100),
+    storage_location VARCHAR(1000),
+    status VARCHAR(20) NOT NULL,
+    uploaded_at TIMESTAMP,
+    UNIQUE(upload_session_id, chunk_number)
+);
+
 -- Permissions Table
 CREATE TABLE IF NOT EXISTS permissions (
     id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
@@ -100,6 +170,7 @@ CREATE INDEX IF NOT EXISTS idx_files_owner ON files(owner_id);
 CREATE INDEX IF NOT EXISTS idx_files_folder ON files(parent_folder_id);
 CREATE INDEX IF NOT EXISTS idx_files_status ON files(status);
 CREATE INDEX IF NOT EXISTS idx_files_created_at ON files(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_files_owner_checksum ON files(owner_id, checksum);
 CREATE INDEX IF NOT EXISTS idx_folders_owner ON folders(owner_id);
 CREATE INDEX IF NOT EXISTS idx_folders_parent ON folders(parent_folder_id);
 CREATE INDEX IF NOT EXISTS idx_folders_path ON folders(path);
@@ -109,3 +180,7 @@ CREATE INDEX IF NOT EXISTS idx_shares_file ON shares(file_id);
 CREATE INDEX IF NOT EXISTS idx_shares_folder ON shares(folder_id);
 CREATE INDEX IF NOT EXISTS idx_shares_token ON shares(share_link_token);
 CREATE INDEX IF NOT EXISTS idx_file_versions_file ON file_versions(file_id);
+CREATE INDEX IF NOT EXISTS idx_pack_entries_status ON pack_entries(status, created_at);
+CREATE INDEX IF NOT EXISTS idx_pack_entries_pack ON pack_entries(pack_location);
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_user ON upload_sessions(user_id);
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_expires_at ON upload_sessions(expires_at);
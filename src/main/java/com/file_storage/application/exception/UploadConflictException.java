@@ -0,0 +1,18 @@
+package com.file_storage.application.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when an upload request conflicts with the current state of its session, either
+ * because another request holds the session or because the client's offset is stale.
+ */
+@Getter
+public class UploadConflictException extends RuntimeException {
+
+    private final boolean locked;
+
+    public UploadConflictException(String message, boolean locked) {
+        super(message);
+        this.locked = locked;
+    }
+}
@@ -0,0 +1,15 @@
+package com.file_storage.application.port.in;
+
+import com.file_storage.domain.model.File;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface BatchUploadUseCase {
+    /**
+     * Unpacks a zip, tar or tar.gz stream into files under the folder, recreating the
+     * archive's directories as subfolders.
+     */
+    List<File> uploadArchive(InputStream archive, String format, UUID folderId, UUID userId);
+}
@@ -1,5 +1,6 @@
 package com.file_storage.application.port.in;
 
+import com.file_storage.domain.model.ChunkRange;
 import com.file_storage.domain.model.FileChunk;
 import com.file_storage.domain.model.UploadSession;
 
@@ -12,9 +13,11 @@ public interface ChunkedUploadUseCase {
                                  String contentType, UUID userId, UUID folderId);
     FileChunk uploadChunk(UUID sessionId, Integer chunkNumber, InputStream chunkData, 
                          Long chunkSize, String checksum, UUID userId);
+    String getChunkUploadUrl(UUID sessionId, Integer chunkNumber, UUID userId);
+    FileChunk confirmChunk(UUID sessionId, Integer chunkNumber, UUID userId);
     UploadSession getUploadSession(UUID sessionId, UUID userId);
     List<FileChunk> getUploadedChunks(UUID sessionId, UUID userId);
     void completeUpload(UUID sessionId, UUID userId);
     void cancelUpload(UUID sessionId, UUID userId);
-    List<Integer> getMissingChunks(UUID sessionId, UUID userId);
+    List<ChunkRange> getMissingChunks(UUID sessionId, UUID userId);
 }
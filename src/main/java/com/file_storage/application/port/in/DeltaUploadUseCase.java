@@ -0,0 +1,24 @@
+package com.file_storage.application.port.in;
+
+import com.file_storage.domain.model.File;
+import com.file_storage.domain.model.FileSignatures;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * rsync-style updates of an existing file. A client fetches the block signatures of the
+ * current version, matches them against its local copy with a rolling checksum and sends a
+ * patch that only carries the bytes it could not match.
+ * <p>
+ * The patch is a big-endian binary stream of operations:
+ * <ul>
+ *     <li>{@code 0x01 <long startBlock> <int blockCount>}: copy blocks from the current version</li>
+ *     <li>{@code 0x02 <int length> <bytes>}: literal data</li>
+ *     <li>{@code 0x00}: end of patch</li>
+ * </ul>
+ */
+public interface DeltaUploadUseCase {
+    FileSignatures getSignatures(UUID fileId, UUID userId, int blockSize);
+    File applyDelta(UUID fileId, UUID userId, String baseChecksum, int blockSize, InputStream patch, String comment);
+}
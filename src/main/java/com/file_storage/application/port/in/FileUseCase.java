@@ -4,16 +4,30 @@ import com.file_storage.domain.model.File;
 import com.file_storage.domain.model.FileUploadRequest;
 
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface FileUseCase {
     File uploadFile(FileUploadRequest request, UUID userId, UUID folderId);
     InputStream downloadFile(UUID fileId, UUID userId);
+    InputStream downloadFile(UUID fileId, UUID userId, long offset, long length);
+    Optional<Path> findLocalCopy(UUID fileId, UUID userId);
     File getFileMetadata(UUID fileId, UUID userId);
     List<File> listUserFiles(UUID userId);
     List<File> listFolderFiles(UUID folderId, UUID userId);
     void deleteFile(UUID fileId, UUID userId);
     String getDownloadUrl(UUID fileId, UUID userId);
+    /**
+     * A presigned URL for the file, or empty when its content cannot be fetched from storage directly.
+     */
+    Optional<String> findDownloadUrl(UUID fileId, UUID userId);
+    /**
+     * Download URLs for the files the user owns; files that are missing or cannot be served
+     * directly are left out.
+     */
+    Map<UUID, String> getDownloadUrls(List<UUID> fileIds, UUID userId);
     List<File> searchFiles(String query, UUID userId);
 }
@@ -0,0 +1,11 @@
+package com.file_storage.application.port.in;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface FolderArchiveUseCase {
+    /**
+     * Writes the folder and everything below it as a zip archive to the output.
+     */
+    void writeArchive(UUID folderId, UUID userId, OutputStream output);
+}
@@ -0,0 +1,7 @@
+package com.file_storage.application.port.in;
+
+import com.file_storage.domain.model.UploadReapResult;
+
+public interface ReapExpiredUploadsUseCase {
+    UploadReapResult reapExpiredUploads(int batchSize);
+}
@@ -0,0 +1,25 @@
+package com.file_storage.application.port.in;
+
+import com.file_storage.domain.model.UploadSession;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Byte-offset resumable uploads on top of chunked upload sessions. The server chooses part
+ * boundaries, so clients only track how many bytes have been accepted.
+ */
+public interface ResumableUploadUseCase {
+    UploadSession createUpload(String fileName, String contentType, long totalSize, UUID folderId, UUID userId);
+    Optional<UploadSession> findUpload(UUID sessionId, UUID userId);
+
+    /**
+     * Appends {@code length} bytes at the given offset and returns the new offset. Whole parts
+     * and the staged tail are kept when a later part of the request fails, so the client can
+     * resume from the offset reported by the session.
+     */
+    long appendData(UUID sessionId, UUID userId, long offset, InputStream data, long length);
+    void terminateUpload(UUID sessionId, UUID userId);
+    long getMaxUploadSize();
+}
@@ -0,0 +1,16 @@
+package com.file_storage.application.port.out;
+
+import java.io.InputStream;
+
+public interface ArchiveReaderPort {
+    /**
+     * Streams through the archive and hands each regular file to the handler in order. The
+     * entry's stream is only valid until the handler returns.
+     */
+    void readEntries(InputStream archive, String format, EntryHandler handler);
+
+    @FunctionalInterface
+    interface EntryHandler {
+        void handle(String path, long size, InputStream content) throws Exception;
+    }
+}
@@ -0,0 +1,23 @@
+package com.file_storage.application.port.out;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface ArchiveWriterPort {
+    /**
+     * Streams a zip archive of the entries to the output in order, asking for each entry's
+     * content only when it is about to be written. Entries without content are directories.
+     */
+    void writeZip(OutputStream output, List<Entry> entries);
+
+    record Entry(String path, long size, LocalDateTime modified, boolean compress,
+                 Supplier<InputStream> content) {
+
+        public static Entry directory(String path, LocalDateTime modified) {
+            return new Entry(path.endsWith("/") ? path : path + "/", 0, modified, false, null);
+        }
+    }
+}
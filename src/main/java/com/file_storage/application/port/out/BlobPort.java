@@ -0,0 +1,29 @@
+package com.file_storage.application.port.out;
+
+import com.file_storage.domain.model.Blob;
+
+import java.util.Optional;
+
+/**
+ * Reference-counted, content-addressed storage objects keyed by SHA-256 checksum.
+ */
+public interface BlobPort {
+    Optional<Blob> findByChecksum(String checksum);
+
+    /**
+     * Adds a reference to an existing blob, if there is one.
+     */
+    Optional<Blob> acquire(String checksum);
+
+    /**
+     * Records a freshly stored object as the blob for its checksum, or adds a reference to the
+     * blob that already exists. The returned blob's location is the one callers must use.
+     */
+    Blob register(String checksum, String storageLocation, long size);
+
+    /**
+     * Drops a reference. Returns the blob when this was the last reference and its object
+     * should be deleted from storage.
+     */
+    Optional<Blob> release(String checksum);
+}
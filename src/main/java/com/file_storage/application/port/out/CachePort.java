@@ -1,10 +1,17 @@
 package com.file_storage.application.port.out;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 public interface CachePort {
     void set(String key, Object value, Duration duration);
     Object get(String key);
+    /**
+     * Values in key order, with null for missing keys.
+     */
+    List<Object> multiGet(List<String> keys);
+    void multiSet(Map<String, Object> values, Duration duration);
     void delete(String key);
     void deletePattern(String pattern);
 }
@@ -0,0 +1,14 @@
+package com.file_storage.application.port.out;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.UUID;
+
+public interface ChunkRegistryPort {
+    void register(UUID sessionId, int totalChunks, LocalDateTime expiresAt);
+    boolean markUploaded(UUID sessionId, int chunkNumber);
+    void markMissing(UUID sessionId, int chunkNumber);
+    long countUploaded(UUID sessionId);
+    BitSet getUploaded(UUID sessionId);
+    void delete(UUID sessionId);
+}
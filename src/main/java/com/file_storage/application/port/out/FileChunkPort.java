@@ -11,5 +11,6 @@ public interface FileChunkPort {
     Optional<FileChunk> findById(UUID chunkId);
     List<FileChunk> findByUploadSessionId(UUID sessionId);
     List<FileChunk> findCompletedChunksBySessionId(UUID sessionId);
+    void delete(UUID sessionId, int chunkNumber);
     void deleteBySessionId(UUID sessionId);
 }
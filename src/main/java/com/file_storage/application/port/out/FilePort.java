@@ -8,9 +8,12 @@ import java.util.UUID;
 
 public interface FilePort {
     File save(File file);
+    void saveAll(List<File> files);
     Optional<File> findById(UUID fileId, UUID userId);
+    List<File> findAllById(List<UUID> fileIds, UUID userId);
     List<File> findActiveFilesByOwner(UUID userId);
     List<File> findByParentFolderId(UUID folderId);
     List<File> searchByName(UUID userId, String query);
+    Optional<File> findActiveByOwnerAndChecksum(UUID userId, String checksum);
     void delete(UUID fileId);
 }
@@ -1,10 +1,37 @@
 package com.file_storage.application.port.out;
 
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 
 public interface FileStoragePort {
     String uploadFile(InputStream inputStream, String fileName, String contentType, long size, String userId);
     InputStream downloadFile(String storageLocation);
+    InputStream downloadFile(String storageLocation, long offset, long length);
     void deleteFile(String storageLocation);
+    void deleteFiles(List<String> storageLocations);
     String getPresignedUrl(String storageLocation, int expirationSeconds);
+
+    /**
+     * Whether the location is a single object that clients can fetch directly, e.g. through a presigned URL.
+     */
+    default boolean isDirectlyAddressable(String storageLocation) {
+        return true;
+    }
+
+    /**
+     * Size in bytes of the content at the location, or -1 if it cannot be determined without reading it.
+     */
+    default long objectSize(String storageLocation) {
+        return -1;
+    }
+
+    /**
+     * A complete copy of the object on local disk, if one is cached, so it can be sent without
+     * going through the object store.
+     */
+    default Optional<Path> findLocalCopy(String storageLocation) {
+        return Optional.empty();
+    }
 }
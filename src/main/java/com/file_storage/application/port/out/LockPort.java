@@ -0,0 +1,15 @@
+package com.file_storage.application.port.out;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface LockPort {
+    Optional<String> tryAcquire(String lockName, Duration ttl);
+    void release(String lockName, String token);
+
+    /**
+     * Resets the lock's TTL if it is still held under the given token. Returns false once the
+     * lock has expired or been taken by someone else.
+     */
+    boolean extend(String lockName, String token, Duration ttl);
+}
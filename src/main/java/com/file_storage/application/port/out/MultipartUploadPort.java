@@ -0,0 +1,40 @@
+package com.file_storage.application.port.out;
+
+import com.file_storage.domain.model.MultipartUpload;
+import com.file_storage.domain.model.StoredObject;
+import com.file_storage.domain.model.UploadedPart;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface MultipartUploadPort {
+    MultipartUpload initiateMultipartUpload(String fileName, String contentType, String userId);
+    String uploadPart(String storageLocation, String uploadId, int partNumber, InputStream inputStream, long size);
+    String getPresignedPartUrl(String storageLocation, String uploadId, int partNumber, int expirationSeconds);
+    Optional<UploadedPart> findUploadedPart(String storageLocation, String uploadId, int partNumber);
+    List<UploadedPart> listUploadedParts(String storageLocation, String uploadId);
+
+    /**
+     * Completes the upload from exactly the given parts, keyed by part number. Fails if the
+     * store holds a different ETag for any of them, e.g. because a part was overwritten
+     * after it was recorded.
+     */
+    StoredObject completeMultipartUpload(String storageLocation, String uploadId, Map<Integer, String> partEtags);
+    void abortMultipartUpload(String storageLocation, String uploadId);
+
+    /**
+     * Holds bytes that do not yet fill a whole part, so they survive until the rest of the part
+     * arrives. Each call stores a new segment starting at the given upload offset; segments
+     * already stored are never rewritten.
+     */
+    void appendTail(String storageLocation, long offset, InputStream data, long length);
+
+    /**
+     * Reads the segments covering the upload offsets {@code from} to {@code to} in order. Fails
+     * if they leave a gap or overlap.
+     */
+    InputStream readTail(String storageLocation, long from, long to);
+    void deleteTail(String storageLocation);
+}
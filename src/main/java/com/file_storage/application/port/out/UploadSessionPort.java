@@ -2,6 +2,8 @@ package com.file_storage.application.port.out;
 
 import com.file_storage.domain.model.UploadSession;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -9,6 +11,7 @@ public interface UploadSessionPort {
     UploadSession save(UploadSession session);
     Optional<UploadSession> findById(UUID sessionId);
     Optional<UploadSession> findByIdAndUserId(UUID sessionId, UUID userId);
+    List<UploadSession> findExpiredSessions(LocalDateTime now, int limit);
     void delete(UUID sessionId);
     void deleteExpiredSessions();
 }
@@ -0,0 +1,247 @@
+package com.file_storage.application.service;
+
+import com.file_storage.application.port.in.BatchUploadUseCase;
+import com.file_storage.application.port.in.FolderUseCase;
+import com.file_storage.application.port.out.*;
+import com.file_storage.domain.model.Blob;
+import com.file_storage.domain.model.File;
+import com.file_storage.domain.model.Folder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URLConnection;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchUploadService implements BatchUploadUseCase {
+
+    private final FilePort filePort;
+    private final FolderPort folderPort;
+    private final FolderUseCase folderUseCase;
+    private final FileStoragePort fileStoragePort;
+    private final BlobPort blobPort;
+    private final ArchiveReaderPort archiveReaderPort;
+    private final CachePort cachePort;
+
+    private static final int PARALLEL_UPLOADS = 16;
+    private static final int MAX_ENTRIES = 10000;
+    private static final int MAX_BUFFERED_ENTRY_SIZE = 8 * 1024 * 1024;
+    private static final int MAX_FILE_NAME_LENGTH = 500;
+    private static final int MAX_FOLDER_NAME_LENGTH = 255;
+    private static final int MAX_FOLDER_PATH_LENGTH = 2000;
+
+    /**
+     * Entries small enough to buffer are stored in parallel while the archive keeps streaming;
+     * larger ones are streamed straight to storage in order. Metadata for the whole batch is
+     * inserted at the end in one batched write. If anything fails, the stored blobs and the
+     * folders created for the archive are removed again.
+     */
+    @Override
+    public List<File> uploadArchive(InputStream archive, String format, UUID folderId, UUID userId) {
+        if (folderId != null) {
+            folderPort.findByIdAndOwnerId(folderId, userId)
+                    .orElseThrow(() -> new RuntimeException("Folder not found"));
+        }
+
+        Map<String, UUID> folders = new HashMap<>();
+        List<UUID> createdFolders = new ArrayList<>();
+        List<Future<File>> pending = new ArrayList<>();
+        Semaphore permits = new Semaphore(PARALLEL_UPLOADS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            archiveReaderPort.readEntries(archive, format, (path, size, content) -> {
+                List<String> segments = pathSegments(path);
+                if (segments.isEmpty()) {
+                    return;
+                }
+                if (pending.size() >= MAX_ENTRIES) {
+                    throw new RuntimeException("Archive contains more than " + MAX_ENTRIES + " files");
+                }
+
+                validateNames(path, segments);
+
+                String name = segments.get(segments.size() - 1);
+                UUID parentId = resolveFolder(segments.subList(0, segments.size() - 1), folderId, folders,
+                        createdFolders, userId);
+
+                byte[] head = content.readNBytes(MAX_BUFFERED_ENTRY_SIZE + 1);
+                if (head.length <= MAX_BUFFERED_ENTRY_SIZE) {
+                    permits.acquire();
+                    pending.add(executor.submit(() -> {
+                        try {
+                            return storeEntry(name, parentId, new ByteArrayInputStream(head), head.length, userId);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } else {
+                    InputStream rest = new SequenceInputStream(new ByteArrayInputStream(head), content);
+                    pending.add(CompletableFuture.completedFuture(storeEntry(name, parentId, rest, size, userId)));
+                }
+            });
+        } catch (Exception e) {
+            discard(pending, createdFolders);
+            log.error("Error uploading archive", e);
+            throw new RuntimeException("Failed to upload archive", e);
+        }
+
+        List<File> files = new ArrayList<>();
+        for (Future<File> future : pending) {
+            if (future.state() != Future.State.SUCCESS) {
+                discard(pending, createdFolders);
+                throw new RuntimeException("Failed to upload archive", future.exceptionNow());
+            }
+            files.add(future.resultNow());
+        }
+
+        try {
+            filePort.saveAll(files);
+        } catch (RuntimeException e) {
+            discard(pending, createdFolders);
+            throw new RuntimeException("Failed to save archive files", e);
+        }
+        cachePort.deletePattern("files:user:" + userId + ":*");
+
+        log.info("Archive uploaded: {} files into folder {}", files.size(), folderId);
+        return files;
+    }
+
+    private File storeEntry(String name, UUID parentId, InputStream content, long size, UUID userId) throws Exception {
+        String contentType = Optional.ofNullable(URLConnection.getFileNameMap().getContentTypeFor(name))
+                .orElse("application/octet-stream");
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        CountingInputStream counter = new CountingInputStream(content);
+        String storageLocation = fileStoragePort.uploadFile(
+                new DigestInputStream(counter, digest), name, contentType, size, userId.toString());
+        String checksum = HexFormat.of().formatHex(digest.digest());
+
+        Blob blob = blobPort.register(checksum, storageLocation, counter.getCount());
+        if (!blob.getStorageLocation().equals(storageLocation)) {
+            fileStoragePort.deleteFile(storageLocation);
+        }
+
+        return File.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .size(counter.getCount())
+                .contentType(contentType)
+                .checksum(checksum)
+                .status(File.FileStatus.ACTIVE)
+                .ownerId(userId)
+                .parentFolderId(parentId)
+                .storageLocation(blob.getStorageLocation())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Finds or creates the folder for an entry's directory, reusing folders that already exist
+     * under the same parent.
+     */
+    private UUID resolveFolder(List<String> directories, UUID rootId, Map<String, UUID> folders,
+                               List<UUID> createdFolders, UUID userId) {
+        UUID parentId = rootId;
+        StringBuilder path = new StringBuilder();
+        for (String directory : directories) {
+            path.append('/').append(directory);
+            UUID currentParent = parentId;
+            parentId = folders.computeIfAbsent(path.toString(),
+                    key -> findOrCreateFolder(directory, currentParent, createdFolders, userId));
+        }
+        return parentId;
+    }
+
+    private UUID findOrCreateFolder(String name, UUID parentId, List<UUID> createdFolders, UUID userId) {
+        List<Folder> siblings = parentId != null
+                ? folderPort.findByParentFolderId(parentId)
+                : folderPort.findByOwnerId(userId).stream().filter(Folder::isRootFolder).toList();
+        return siblings.stream()
+                .filter(folder -> folder.isOwnedBy(userId) && folder.getName().equals(name))
+                .findFirst()
+                .orElseGet(() -> {
+                    Folder created = folderUseCase.createFolder(name, parentId, userId);
+                    createdFolders.add(created.getId());
+                    return created;
+                })
+                .getId();
+    }
+
+    /**
+     * Rejects names that would not fit their columns before anything for the entry is stored.
+     */
+    private void validateNames(String path, List<String> segments) {
+        if (segments.getLast().length() > MAX_FILE_NAME_LENGTH) {
+            throw new RuntimeException("File name is longer than " + MAX_FILE_NAME_LENGTH + " characters: " + path);
+        }
+        int directoryPathLength = 0;
+        for (String directory : segments.subList(0, segments.size() - 1)) {
+            if (directory.length() > MAX_FOLDER_NAME_LENGTH) {
+                throw new RuntimeException("Folder name is longer than " + MAX_FOLDER_NAME_LENGTH + " characters: " + path);
+            }
+            directoryPathLength += directory.length() + 1;
+        }
+        if (directoryPathLength > MAX_FOLDER_PATH_LENGTH) {
+            throw new RuntimeException("Folder path is longer than " + MAX_FOLDER_PATH_LENGTH + " characters: " + path);
+        }
+    }
+
+    /**
+     * Splits an entry path into its directory and file names, dropping empty and "." segments.
+     * Entries that try to climb out of the archive root are skipped.
+     */
+    private List<String> pathSegments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.replace('\\', '/').split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                return List.of();
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    private void discard(List<Future<File>> pending, List<UUID> createdFolders) {
+        releaseStored(pending);
+        for (UUID folderId : createdFolders.reversed()) {
+            try {
+                folderPort.delete(folderId);
+            } catch (Exception e) {
+                log.warn("Failed to remove folder {} after a failed archive upload", folderId, e);
+            }
+        }
+    }
+
+    private void releaseStored(List<Future<File>> pending) {
+        for (Future<File> future : pending) {
+            if (future.state() != Future.State.SUCCESS) {
+                continue;
+            }
+            File file = future.resultNow();
+            try {
+                blobPort.release(file.getChecksum())
+                        .ifPresent(blob -> fileStoragePort.deleteFile(blob.getStorageLocation()));
+            } catch (Exception e) {
+                log.warn("Failed to clean up {} after a failed archive upload", file.getStorageLocation(), e);
+            }
+        }
+    }
+}
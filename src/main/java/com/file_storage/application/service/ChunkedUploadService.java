@@ -9,10 +9,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,17 +30,31 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
 
     private final UploadSessionPort uploadSessionPort;
     private final FileChunkPort fileChunkPort;
+    private final ChunkRegistryPort chunkRegistryPort;
     private final FileStoragePort fileStoragePort;
+    private final MultipartUploadPort multipartUploadPort;
     private final FilePort filePort;
     private final MessageQueuePort messageQueuePort;
     private final CachePort cachePort;
+    private final BlobPort blobPort;
 
     private static final int SESSION_EXPIRY_HOURS = 24;
+    private static final long MIN_CHUNK_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_CHUNKS = 10000;
+    private static final int PART_URL_EXPIRY_SECONDS = 3600;
+    private static final String UNVERIFIED_CHECKSUM_PREFIX = "s3-etag:";
 
     @Override
     @Transactional
     public UploadSession initiateUpload(String fileName, Long totalSize, Integer totalChunks,
                                        String contentType, UUID userId, UUID folderId) {
+        if (totalChunks > MAX_CHUNKS) {
+            throw new RuntimeException("Too many chunks, at most " + MAX_CHUNKS + " are allowed");
+        }
+
+        MultipartUpload multipartUpload = multipartUploadPort.initiateMultipartUpload(
+                fileName, contentType, userId.toString());
+
         UploadSession session = UploadSession.builder()
                 .id(UUID.randomUUID())
                 .userId(userId)
@@ -41,63 +64,73 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
                 .totalChunks(totalChunks)
                 .uploadedChunks(0)
                 .contentType(contentType)
+                .storageLocation(multipartUpload.getStorageLocation())
+                .multipartUploadId(multipartUpload.getUploadId())
                 .status(UploadSession.SessionStatus.INITIATED)
                 .createdAt(LocalDateTime.now())
                 .expiresAt(LocalDateTime.now().plusHours(SESSION_EXPIRY_HOURS))
                 .build();
 
         UploadSession saved = uploadSessionPort.save(session);
+        chunkRegistryPort.register(saved.getId(), totalChunks, saved.getExpiresAt());
         log.info("Upload session initiated: {} for user: {}", saved.getId(), userId);
 
         return saved;
     }
 
     @Override
-    @Transactional
     public FileChunk uploadChunk(UUID sessionId, Integer chunkNumber, InputStream chunkData,
                                 Long chunkSize, String checksum, UUID userId) {
-        UploadSession session = uploadSessionPort.findByIdAndUserId(sessionId, userId)
-                .orElseThrow(() -> new RuntimeException("Upload session not found"));
+        UploadSession session = loadActiveSession(sessionId, userId);
+        validateChunk(session, chunkNumber, chunkSize);
+
+        MessageDigest digest = sha256();
+        String etag = multipartUploadPort.uploadPart(
+                session.getStorageLocation(),
+                session.getMultipartUploadId(),
+                chunkNumber + 1,
+                new DigestInputStream(chunkData, digest),
+                chunkSize
+        );
 
-        if (session.isExpired()) {
-            throw new RuntimeException("Upload session expired");
+        // The mismatching bytes now occupy the part, so any earlier record of it no longer holds
+        String computed = HexFormat.of().formatHex(digest.digest());
+        if (checksum != null && !checksum.equalsIgnoreCase(computed)) {
+            discardChunk(session, chunkNumber);
+            throw new RuntimeException("Chunk checksum mismatch");
         }
 
-        if (chunkNumber >= session.getTotalChunks()) {
+        return recordChunk(session, chunkNumber, chunkSize, computed, etag);
+    }
+
+    @Override
+    public String getChunkUploadUrl(UUID sessionId, Integer chunkNumber, UUID userId) {
+        UploadSession session = loadActiveSession(sessionId, userId);
+        if (chunkNumber < 0 || chunkNumber >= session.getTotalChunks()) {
             throw new RuntimeException("Invalid chunk number");
         }
 
-        String storageLocation = fileStoragePort.uploadFile(
-                chunkData,
-                String.format("%s_chunk_%d", session.getFileName(), chunkNumber),
-                "application/octet-stream",
-                chunkSize,
-                userId.toString()
+        // Whatever is PUT through the URL replaces the part, so it must be confirmed again
+        discardChunk(session, chunkNumber);
+        return multipartUploadPort.getPresignedPartUrl(
+                session.getStorageLocation(),
+                session.getMultipartUploadId(),
+                chunkNumber + 1,
+                PART_URL_EXPIRY_SECONDS
         );
+    }
 
-        FileChunk chunk = FileChunk.builder()
-                .id(UUID.randomUUID())
-                .uploadSessionId(sessionId)
-                .chunkNumber(chunkNumber)
-                .totalChunks(session.getTotalChunks())
-                .chunkSize(chunkSize)
-                .checksum(checksum)
-                .storageLocation(storageLocation)
-                .status(FileChunk.ChunkStatus.COMPLETED)
-                .uploadedAt(LocalDateTime.now())
-                .build();
-
-        FileChunk saved = fileChunkPort.save(chunk);
-
-        session.setUploadedChunks(session.getUploadedChunks() + 1);
-        session.setStatus(UploadSession.SessionStatus.IN_PROGRESS);
-        uploadSessionPort.save(session);
-
-        cachePort.delete("upload:session:" + sessionId);
+    @Override
+    public FileChunk confirmChunk(UUID sessionId, Integer chunkNumber, UUID userId) {
+        UploadSession session = loadActiveSession(sessionId, userId);
 
-        log.info("Chunk {} uploaded for session: {}", chunkNumber, sessionId);
+        UploadedPart part = multipartUploadPort.findUploadedPart(
+                        session.getStorageLocation(), session.getMultipartUploadId(), chunkNumber + 1)
+                .orElseThrow(() -> new RuntimeException("Chunk has not been uploaded to storage"));
+        validateChunk(session, chunkNumber, part.getSize());
 
-        return saved;
+        // The bytes went straight to storage, so there is no verified hash for this chunk
+        return recordChunk(session, chunkNumber, part.getSize(), null, part.getEtag());
     }
 
     @Override
@@ -106,13 +139,13 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
         Object cached = cachePort.get(cacheKey);
 
         if (cached instanceof UploadSession) {
-            return (UploadSession) cached;
+            return withUploadedChunks((UploadSession) cached);
         }
 
         UploadSession session = uploadSessionPort.findByIdAndUserId(sessionId, userId)
                 .orElseThrow(() -> new RuntimeException("Upload session not found"));
 
-        return session;
+        return withUploadedChunks(session);
     }
 
     @Override
@@ -126,8 +159,7 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
     @Override
     @Transactional
     public void completeUpload(UUID sessionId, UUID userId) {
-        UploadSession session = uploadSessionPort.findByIdAndUserId(sessionId, userId)
-                .orElseThrow(() -> new RuntimeException("Upload session not found"));
+        UploadSession session = withUploadedChunks(loadActiveSession(sessionId, userId));
 
         if (!session.isCompleted()) {
             throw new RuntimeException("Not all chunks uploaded");
@@ -138,13 +170,29 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
             throw new RuntimeException("Missing chunks");
         }
 
-        String finalStorageLocation = assembleChunks(chunks, session);
+        long chunkedSize = chunks.stream().mapToLong(FileChunk::getChunkSize).sum();
+        if (chunkedSize != session.getTotalSize()) {
+            throw new RuntimeException("Uploaded chunk sizes do not match upload session");
+        }
+
+        String merkleRoot = merkleRoot(chunks);
+        String finalStorageLocation;
+        String checksum;
+        if (merkleRoot != null) {
+            checksum = merkleRoot;
+            finalStorageLocation = storeDeduplicated(session, chunks, merkleRoot);
+        } else {
+            StoredObject assembled = completeStoredUpload(session, chunks);
+            checksum = unverifiedChecksum(assembled);
+            finalStorageLocation = assembled.getStorageLocation();
+        }
 
         File file = File.builder()
                 .id(UUID.randomUUID())
                 .name(session.getFileName())
                 .size(session.getTotalSize())
                 .contentType(session.getContentType())
+                .checksum(checksum)
                 .status(File.FileStatus.ACTIVE)
                 .ownerId(userId)
                 .parentFolderId(session.getFolderId())
@@ -156,10 +204,12 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
         File saved = filePort.save(file);
 
         session.setStatus(UploadSession.SessionStatus.COMPLETED);
+        session.setUploadOffset(session.getTotalSize());
         session.setCompletedAt(LocalDateTime.now());
         uploadSessionPort.save(session);
 
-        cleanupChunks(chunks);
+        fileChunkPort.deleteBySessionId(sessionId);
+        chunkRegistryPort.delete(sessionId);
 
         messageQueuePort.publishFileUploadedEvent(saved.getId().toString(), userId.toString());
         messageQueuePort.publishVirusScanRequest(saved.getId().toString(), finalStorageLocation);
@@ -175,8 +225,9 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
         UploadSession session = uploadSessionPort.findByIdAndUserId(sessionId, userId)
                 .orElseThrow(() -> new RuntimeException("Upload session not found"));
 
-        List<FileChunk> chunks = fileChunkPort.findByUploadSessionId(sessionId);
-        cleanupChunks(chunks);
+        abortStoredUpload(session);
+        fileChunkPort.deleteBySessionId(sessionId);
+        chunkRegistryPort.delete(sessionId);
 
         session.setStatus(UploadSession.SessionStatus.FAILED);
         uploadSessionPort.save(session);
@@ -187,36 +238,194 @@ public class ChunkedUploadService implements ChunkedUploadUseCase {
     }
 
     @Override
-    public List<Integer> getMissingChunks(UUID sessionId, UUID userId) {
+    public List<ChunkRange> getMissingChunks(UUID sessionId, UUID userId) {
         UploadSession session = uploadSessionPort.findByIdAndUserId(sessionId, userId)
                 .orElseThrow(() -> new RuntimeException("Upload session not found"));
 
-        List<FileChunk> uploadedChunks = fileChunkPort.findByUploadSessionId(sessionId);
-        List<Integer> uploadedNumbers = uploadedChunks.stream()
-                .map(FileChunk::getChunkNumber)
-                .toList();
+        int totalChunks = session.getTotalChunks();
+        BitSet uploaded = chunkRegistryPort.getUploaded(sessionId);
+        List<ChunkRange> missing = new ArrayList<>();
+
+        int start = uploaded.nextClearBit(0);
+        while (start < totalChunks) {
+            int next = uploaded.nextSetBit(start);
+            int end = next < 0 || next > totalChunks ? totalChunks : next;
+            missing.add(ChunkRange.builder().start(start).end(end - 1).build());
+            start = uploaded.nextClearBit(end);
+        }
+
+        return missing;
+    }
+
+    private UploadSession loadActiveSession(UUID sessionId, UUID userId) {
+        UploadSession session = uploadSessionPort.findByIdAndUserId(sessionId, userId)
+                .orElseThrow(() -> new RuntimeException("Upload session not found"));
+
+        if (session.isExpired()) {
+            abortStoredUpload(session);
+            throw new RuntimeException("Upload session expired");
+        }
+
+        return session;
+    }
+
+    private void validateChunk(UploadSession session, Integer chunkNumber, long chunkSize) {
+        if (chunkNumber < 0 || chunkNumber >= session.getTotalChunks()) {
+            throw new RuntimeException("Invalid chunk number");
+        }
+
+        if (chunkNumber < session.getTotalChunks() - 1 && chunkSize < MIN_CHUNK_SIZE) {
+            throw new RuntimeException("Only the last chunk may be smaller than 5 MB");
+        }
+    }
+
+    private FileChunk recordChunk(UploadSession session, Integer chunkNumber, long chunkSize,
+                                  String checksum, String etag) {
+        FileChunk chunk = FileChunk.builder()
+                .id(chunkId(session.getId(), chunkNumber))
+                .uploadSessionId(session.getId())
+                .chunkNumber(chunkNumber)
+                .totalChunks(session.getTotalChunks())
+                .chunkSize(chunkSize)
+                .checksum(checksum)
+                .etag(etag)
+                .storageLocation(session.getStorageLocation())
+                .status(FileChunk.ChunkStatus.COMPLETED)
+                .uploadedAt(LocalDateTime.now())
+                .build();
+
+        FileChunk saved = fileChunkPort.save(chunk);
+        boolean firstUpload = chunkRegistryPort.markUploaded(session.getId(), chunkNumber);
 
-        return IntStream.range(0, session.getTotalChunks())
-                .filter(i -> !uploadedNumbers.contains(i))
-                .boxed()
-                .toList();
+        if (session.getStatus() == UploadSession.SessionStatus.INITIATED) {
+            session.setStatus(UploadSession.SessionStatus.IN_PROGRESS);
+            uploadSessionPort.save(session);
+            cachePort.delete("upload:session:" + session.getId());
+        }
+
+        if (firstUpload) {
+            log.info("Chunk {} uploaded for session: {}", chunkNumber, session.getId());
+        } else {
+            log.info("Chunk {} re-uploaded for session: {}", chunkNumber, session.getId());
+        }
+
+        return saved;
     }
 
-    private String assembleChunks(List<FileChunk> chunks, UploadSession session) {
-        log.info("Assembling {} chunks for session: {}", chunks.size(), session.getId());
-        return "assembled/" + session.getFileName();
+    /**
+     * Completes the upload unless identical content is already stored, in which case the parts
+     * are discarded and the existing blob is shared.
+     */
+    private String storeDeduplicated(UploadSession session, List<FileChunk> chunks, String merkleRoot) {
+        Optional<Blob> existing = blobPort.acquire(merkleRoot);
+        if (existing.isPresent()) {
+            abortStoredUpload(session);
+            log.info("Upload session {} matched existing blob {}, skipping assembly", session.getId(), merkleRoot);
+            return existing.get().getStorageLocation();
+        }
+
+        StoredObject assembled = completeStoredUpload(session, chunks);
+        Blob blob = blobPort.register(merkleRoot, assembled.getStorageLocation(), assembled.getSize());
+        if (!blob.getStorageLocation().equals(assembled.getStorageLocation())) {
+            fileStoragePort.deleteFile(assembled.getStorageLocation());
+        }
+        return blob.getStorageLocation();
     }
 
-    private void cleanupChunks(List<FileChunk> chunks) {
+    /**
+     * Assembles exactly the parts that were recorded, so bytes that replaced a part after its
+     * hash was verified can never end up under that hash.
+     */
+    private StoredObject completeStoredUpload(UploadSession session, List<FileChunk> chunks) {
+        Map<Integer, String> partEtags = new HashMap<>();
         for (FileChunk chunk : chunks) {
-            try {
-                fileStoragePort.deleteFile(chunk.getStorageLocation());
-            } catch (Exception e) {
-                log.error("Failed to cleanup chunk: {}", chunk.getId(), e);
+            partEtags.put(chunk.getChunkNumber() + 1, chunk.getEtag());
+        }
+        StoredObject assembled = multipartUploadPort.completeMultipartUpload(
+                session.getStorageLocation(), session.getMultipartUploadId(), partEtags);
+        if (assembled.getSize() != session.getTotalSize()) {
+            fileStoragePort.deleteFile(assembled.getStorageLocation());
+            throw new RuntimeException("Assembled file size does not match upload session");
+        }
+        return assembled;
+    }
+
+    /**
+     * Parts uploaded through presigned URLs never passed through the server, so there is no
+     * content hash to record, and the object is not read back to compute one. The multipart
+     * ETag is stored under its own prefix instead, so it can never be taken for a SHA-256 by
+     * dedup or delta base checks, and the object is owned outright rather than shared as a blob.
+     */
+    private String unverifiedChecksum(StoredObject assembled) {
+        return UNVERIFIED_CHECKSUM_PREFIX + assembled.getEtag().replace("\"", "");
+    }
+
+    /**
+     * Builds a Merkle root over the verified chunk hashes, with RFC 6962 style leaf and node
+     * prefixes so the root can never equal the plain SHA-256 of some content. Each chunk was
+     * hashed while it streamed in, so nothing is re-read from storage. Returns null when any
+     * chunk bypassed the server and has no verified hash.
+     */
+    private String merkleRoot(List<FileChunk> chunks) {
+        List<byte[]> level = new ArrayList<>();
+        for (FileChunk chunk : chunks) {
+            if (chunk.getChecksum() == null) {
+                return null;
             }
+            level.add(hashNode((byte) 0x00, HexFormat.of().parseHex(chunk.getChecksum())));
         }
-        if (!chunks.isEmpty()) {
-            fileChunkPort.deleteBySessionId(chunks.get(0).getUploadSessionId());
+
+        while (level.size() > 1) {
+            List<byte[]> parents = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += 2) {
+                parents.add(i + 1 < level.size()
+                        ? hashNode((byte) 0x01, level.get(i), level.get(i + 1))
+                        : level.get(i));
+            }
+            level = parents;
+        }
+        return HexFormat.of().formatHex(level.get(0));
+    }
+
+    private byte[] hashNode(byte prefix, byte[]... children) {
+        MessageDigest digest = sha256();
+        digest.update(prefix);
+        for (byte[] child : children) {
+            digest.update(child);
+        }
+        return digest.digest();
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    private void discardChunk(UploadSession session, int chunkNumber) {
+        fileChunkPort.delete(session.getId(), chunkNumber);
+        chunkRegistryPort.markMissing(session.getId(), chunkNumber);
+    }
+
+    private UploadSession withUploadedChunks(UploadSession session) {
+        session.setUploadedChunks((int) chunkRegistryPort.countUploaded(session.getId()));
+        return session;
+    }
+
+    private UUID chunkId(UUID sessionId, Integer chunkNumber) {
+        return UUID.nameUUIDFromBytes((sessionId + ":" + chunkNumber).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void abortStoredUpload(UploadSession session) {
+        try {
+            multipartUploadPort.abortMultipartUpload(session.getStorageLocation(), session.getMultipartUploadId());
+            if (session.getUploadOffset() > 0) {
+                multipartUploadPort.deleteTail(session.getStorageLocation());
+            }
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload for session: {}", session.getId(), e);
         }
     }
 }
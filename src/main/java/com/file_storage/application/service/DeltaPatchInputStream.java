@@ -0,0 +1,123 @@
+package com.file_storage.application.service;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Produces the new version of a file by applying a delta patch to the current version.
+ * Operations are decoded as the stream is read, so neither side is buffered in memory.
+ */
+class DeltaPatchInputStream extends InputStream {
+
+    static final int OP_END = 0x00;
+    static final int OP_COPY = 0x01;
+    static final int OP_DATA = 0x02;
+
+    private static final int MAX_DATA_LENGTH = 64 * 1024 * 1024;
+
+    interface BaseReader {
+        InputStream open(long offset, long length);
+    }
+
+    private final DataInputStream patch;
+    private final BaseReader baseReader;
+    private final int blockSize;
+    private final long baseSize;
+    private InputStream current;
+    private long remaining;
+    private boolean finished;
+    private long bytesCopied;
+    private long bytesLiteral;
+
+    DeltaPatchInputStream(InputStream patch, BaseReader baseReader, int blockSize, long baseSize) {
+        this.patch = new DataInputStream(patch);
+        this.baseReader = baseReader;
+        this.blockSize = blockSize;
+        this.baseSize = baseSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int n = read(single, 0, 1);
+        return n < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (remaining == 0) {
+            if (finished) {
+                return -1;
+            }
+            nextOperation();
+        }
+
+        int n = current.read(buffer, offset, (int) Math.min(length, remaining));
+        if (n < 0) {
+            throw new EOFException(current == patch ? "Patch ended inside a data operation" : "Base version ended early");
+        }
+        remaining -= n;
+        if (current == patch) {
+            bytesLiteral += n;
+        } else {
+            bytesCopied += n;
+            if (remaining == 0) {
+                current.close();
+            }
+        }
+        return n;
+    }
+
+    long getBytesCopied() {
+        return bytesCopied;
+    }
+
+    long getBytesLiteral() {
+        return bytesLiteral;
+    }
+
+    long getBytesProduced() {
+        return bytesCopied + bytesLiteral;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null && current != patch) {
+            current.close();
+        }
+        patch.close();
+    }
+
+    private void nextOperation() throws IOException {
+        int op = patch.read();
+        switch (op) {
+            case OP_END -> finished = true;
+            case OP_COPY -> {
+                long startBlock = patch.readLong();
+                int blockCount = patch.readInt();
+                long offset = startBlock * blockSize;
+                if (startBlock < 0 || blockCount <= 0 || offset >= baseSize) {
+                    throw new IOException("Copy operation outside of base version");
+                }
+                long length = Math.min((long) blockCount * blockSize, baseSize - offset);
+                current = baseReader.open(offset, length);
+                remaining = length;
+            }
+            case OP_DATA -> {
+                int length = patch.readInt();
+                if (length <= 0 || length > MAX_DATA_LENGTH) {
+                    throw new IOException("Invalid data operation length: " + length);
+                }
+                current = patch;
+                remaining = length;
+            }
+            case -1 -> throw new EOFException("Patch ended without an end operation");
+            default -> throw new IOException("Unknown patch operation: " + op);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.file_storage.application.service;
+
+import com.file_storage.application.port.in.DeltaUploadUseCase;
+import com.file_storage.application.port.out.*;
+import com.file_storage.domain.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeltaUploadService implements DeltaUploadUseCase {
+
+    private final FilePort filePort;
+    private final FileVersionPort fileVersionPort;
+    private final FileStoragePort fileStoragePort;
+    private final BlobPort blobPort;
+    private final CachePort cachePort;
+
+    private static final int MIN_BLOCK_SIZE = 1024;
+    private static final int MAX_BLOCK_SIZE = 8 * 1024 * 1024;
+
+    @Override
+    public FileSignatures getSignatures(UUID fileId, UUID userId, int blockSize) {
+        validateBlockSize(blockSize);
+        File file = filePort.findById(fileId, userId)
+                .orElseThrow(() -> new RuntimeException("File not found"));
+
+        // Signatures depend only on content, so files sharing a checksum share the cache entry
+        String cacheKey = "file:signatures:" + file.getChecksum() + ":" + blockSize;
+        Object cached = cachePort.get(cacheKey);
+        if (cached instanceof FileSignatures) {
+            return (FileSignatures) cached;
+        }
+
+        List<BlockSignature> blocks = new ArrayList<>();
+        try (InputStream inputStream = fileStoragePort.downloadFile(file.getStorageLocation())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] block = new byte[blockSize];
+            int length;
+            long index = 0;
+            while ((length = inputStream.readNBytes(block, 0, blockSize)) > 0) {
+                digest.update(block, 0, length);
+                blocks.add(BlockSignature.builder()
+                        .index(index++)
+                        .weak(weakChecksum(block, length))
+                        .strong(HexFormat.of().formatHex(digest.digest()))
+                        .build());
+            }
+        } catch (Exception e) {
+            log.error("Error computing block signatures for file {}", fileId, e);
+            throw new RuntimeException("Failed to compute block signatures", e);
+        }
+
+        FileSignatures signatures = FileSignatures.builder()
+                .checksum(file.getChecksum())
+                .blockSize(blockSize)
+                .size(file.getSize())
+                .blocks(blocks)
+                .build();
+        cachePort.set(cacheKey, signatures, Duration.ofHours(1));
+        return signatures;
+    }
+
+    @Override
+    @Transactional
+    public File applyDelta(UUID fileId, UUID userId, String baseChecksum, int blockSize,
+                           InputStream patch, String comment) {
+        validateBlockSize(blockSize);
+        File file = filePort.findById(fileId, userId)
+                .orElseThrow(() -> new RuntimeException("File not found"));
+        if (!file.getChecksum().equalsIgnoreCase(baseChecksum)) {
+            throw new RuntimeException("File has changed since its signatures were fetched");
+        }
+
+        String baseLocation = file.getStorageLocation();
+        DeltaPatchInputStream delta = new DeltaPatchInputStream(patch,
+                (offset, length) -> fileStoragePort.downloadFile(baseLocation, offset, length),
+                blockSize, file.getSize());
+
+        String storageLocation;
+        String checksum;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(delta, digest)) {
+                storageLocation = fileStoragePort.uploadFile(
+                        inputStream, file.getName(), file.getContentType(), -1, userId.toString());
+            }
+            checksum = HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            log.error("Error applying delta to file {}", fileId, e);
+            throw new RuntimeException("Failed to apply delta", e);
+        }
+        long size = delta.getBytesProduced();
+
+        Blob blob = blobPort.register(checksum, storageLocation, size);
+        if (!blob.getStorageLocation().equals(storageLocation)) {
+            fileStoragePort.deleteFile(storageLocation);
+        }
+
+        int versionNumber = nextVersionNumber(file, userId);
+        fileVersionPort.markAllAsOld(fileId);
+        fileVersionPort.save(FileVersion.builder()
+                .id(UUID.randomUUID())
+                .fileId(fileId)
+                .versionNumber(versionNumber)
+                .size(size)
+                .checksum(checksum)
+                .storageLocation(blob.getStorageLocation())
+                .createdBy(userId)
+                .createdAt(LocalDateTime.now())
+                .comment(comment)
+                .isCurrent(true)
+                .build());
+
+        file.setStorageLocation(blob.getStorageLocation());
+        file.setSize(size);
+        file.setChecksum(checksum);
+        file.setUpdatedAt(LocalDateTime.now());
+        File saved = filePort.save(file);
+
+        cachePort.delete("file:metadata:" + fileId);
+        cachePort.deletePattern("files:user:" + userId + ":*");
+
+        log.info("Delta applied to file {}: version {}, {} bytes sent, {} bytes copied",
+                fileId, versionNumber, delta.getBytesLiteral(), delta.getBytesCopied());
+        return saved;
+    }
+
+    /**
+     * Files uploaded before versioning have no history, so their current content is recorded
+     * as version 1 before the first delta is applied on top of it.
+     */
+    private int nextVersionNumber(File file, UUID userId) {
+        List<FileVersion> versions = fileVersionPort.findByFileId(file.getId());
+        if (!versions.isEmpty()) {
+            return versions.get(0).getVersionNumber() + 1;
+        }
+
+        fileVersionPort.save(FileVersion.builder()
+                .id(UUID.randomUUID())
+                .fileId(file.getId())
+                .versionNumber(1)
+                .size(file.getSize())
+                .checksum(file.getChecksum())
+                .storageLocation(file.getStorageLocation())
+                .createdBy(userId)
+                .createdAt(file.getCreatedAt() != null ? file.getCreatedAt() : LocalDateTime.now())
+                .isCurrent(true)
+                .build());
+        return 2;
+    }
+
+    private void validateBlockSize(int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE) {
+            throw new RuntimeException("Block size must be between " + MIN_BLOCK_SIZE + " and " + MAX_BLOCK_SIZE);
+        }
+    }
+
+    /**
+     * rsync's weak checksum: two 16-bit running sums packed into an int, which the client
+     * can roll forward one byte at a time.
+     */
+    private static int weakChecksum(byte[] block, int length) {
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < length; i++) {
+            a += block[i] & 0xff;
+            b += (length - i) * (block[i] & 0xff);
+        }
+        return (a & 0xffff) | (b << 16);
+    }
+}
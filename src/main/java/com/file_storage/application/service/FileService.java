@@ -1,21 +1,34 @@
 package com.file_storage.application.service;
 
 import com.file_storage.application.port.in.FileUseCase;
+import com.file_storage.application.port.out.BlobPort;
 import com.file_storage.application.port.out.CachePort;
 import com.file_storage.application.port.out.FilePort;
 import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.application.port.out.FileVersionPort;
+import com.file_storage.domain.model.Blob;
 import com.file_storage.domain.model.File;
 import com.file_storage.domain.model.FileUploadRequest;
+import com.file_storage.domain.model.FileVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -26,42 +39,56 @@ public class FileService implements FileUseCase {
     private final FilePort filePort;
     private final FileStoragePort fileStoragePort;
     private final CachePort cachePort;
+    private final BlobPort blobPort;
+    private final FileVersionPort fileVersionPort;
+
+    private static final int PRESIGN_EXPIRY_SECONDS = 3600;
+    private static final Duration PRESIGN_MIN_REMAINING = Duration.ofMinutes(10);
+    private static final Duration PRESIGN_REUSE =
+            Duration.ofSeconds(PRESIGN_EXPIRY_SECONDS).minus(PRESIGN_MIN_REMAINING);
+    private static final int MAX_BATCH_URLS = 500;
 
     @Override
     @Transactional
     public File uploadFile(FileUploadRequest request, UUID userId, UUID folderId) {
         try {
-            byte[] fileBytes = request.getInputStream().readAllBytes();
-            String checksum = calculateChecksum(fileBytes);
-            
-            String storageLocation = fileStoragePort.uploadFile(
-                request.getInputStream(), 
-                request.getFileName(), 
-                request.getContentType(), 
-                request.getSize(), 
-                userId.toString()
-            );
-
-            File file = File.builder()
-                    .id(UUID.randomUUID())
-                    .name(request.getFileName())
-                    .size(request.getSize())
-                    .contentType(request.getContentType())
-                    .checksum(checksum)
-                    .status(File.FileStatus.ACTIVE)
-                    .ownerId(userId)
-                    .parentFolderId(folderId)
-                    .storageLocation(storageLocation)
-                    .createdAt(LocalDateTime.now())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
-
-            File saved = filePort.save(file);
-            log.info("File uploaded successfully: {}", saved.getId());
-
-            cachePort.deletePattern("files:user:" + userId + ":*");
-
-            return saved;
+            Optional<Blob> existing = findOwnedBlob(request, userId);
+            if (existing.isPresent()) {
+                log.info("Upload of {} matched existing blob {}, skipping storage", request.getFileName(),
+                        request.getChecksum());
+                request.getInputStream().close();
+                return saveFile(request, userId, folderId, existing.get().getChecksum(),
+                        existing.get().getStorageLocation(), existing.get().getSize());
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            CountingInputStream counter = new CountingInputStream(request.getInputStream());
+            String storageLocation;
+            try (InputStream inputStream = new DigestInputStream(counter, digest)) {
+                storageLocation = fileStoragePort.uploadFile(
+                    inputStream,
+                    request.getFileName(),
+                    request.getContentType(),
+                    request.getSize(),
+                    userId.toString()
+                );
+            }
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            long size = counter.getCount();
+            if (request.getSize() >= 0 && size != request.getSize()) {
+                fileStoragePort.deleteFile(storageLocation);
+                throw new RuntimeException("Uploaded " + size + " bytes but " + request.getSize() + " were declared");
+            }
+
+            Blob blob = blobPort.register(checksum, storageLocation, size);
+            if (!blob.getStorageLocation().equals(storageLocation)) {
+                log.info("Upload of {} duplicates blob {}, dropping new copy", request.getFileName(), checksum);
+                fileStoragePort.deleteFile(storageLocation);
+            } else {
+                deleteOnRollback(storageLocation);
+            }
+
+            return saveFile(request, userId, folderId, checksum, blob.getStorageLocation(), size);
         } catch (Exception e) {
             log.error("Error uploading file", e);
             throw new RuntimeException("Failed to upload file", e);
@@ -76,13 +103,29 @@ public class FileService implements FileUseCase {
         return fileStoragePort.downloadFile(file.getStorageLocation());
     }
 
+    @Override
+    public InputStream downloadFile(UUID fileId, UUID userId, long offset, long length) {
+        File file = filePort.findById(fileId, userId)
+                .orElseThrow(() -> new RuntimeException("File not found"));
+
+        return fileStoragePort.downloadFile(file.getStorageLocation(), offset, length);
+    }
+
+    @Override
+    public Optional<Path> findLocalCopy(UUID fileId, UUID userId) {
+        File file = filePort.findById(fileId, userId)
+                .orElseThrow(() -> new RuntimeException("File not found"));
+
+        return fileStoragePort.findLocalCopy(file.getStorageLocation());
+    }
+
     @Override
     public File getFileMetadata(UUID fileId, UUID userId) {
         String cacheKey = "file:metadata:" + fileId;
         Object cached = cachePort.get(cacheKey);
 
-        if (cached instanceof File) {
-            return (File) cached;
+        if (cached instanceof File file && file.isOwnedBy(userId)) {
+            return file;
         }
 
         File file = filePort.findById(fileId, userId)
@@ -125,7 +168,7 @@ public class FileService implements FileUseCase {
         File file = filePort.findById(fileId, userId)
                 .orElseThrow(() -> new RuntimeException("File not found"));
 
-        fileStoragePort.deleteFile(file.getStorageLocation());
+        releaseStoredObject(file);
         filePort.delete(fileId);
 
         cachePort.delete("file:metadata:" + fileId);
@@ -134,12 +177,94 @@ public class FileService implements FileUseCase {
         log.info("File deleted successfully: {}", fileId);
     }
 
+    /**
+     * Releases the stored content of every version of the file. Unversioned files only hold
+     * their current content.
+     */
+    private void releaseStoredObject(File file) {
+        List<FileVersion> versions = fileVersionPort.findByFileId(file.getId());
+        if (versions.isEmpty()) {
+            releaseStoredObject(file.getChecksum(), file.getStorageLocation());
+            return;
+        }
+        versions.forEach(version -> releaseStoredObject(version.getChecksum(), version.getStorageLocation()));
+    }
+
+    /**
+     * Drops a reference to a blob and deletes the object once nothing else points at it.
+     * Objects stored before blobs were tracked are owned outright.
+     */
+    private void releaseStoredObject(String checksum, String storageLocation) {
+        boolean tracked = blobPort.findByChecksum(checksum)
+                .filter(blob -> blob.getStorageLocation().equals(storageLocation))
+                .isPresent();
+        if (!tracked) {
+            fileStoragePort.deleteFile(storageLocation);
+            return;
+        }
+        blobPort.release(checksum)
+                .ifPresent(blob -> fileStoragePort.deleteFile(blob.getStorageLocation()));
+    }
+
     @Override
     public String getDownloadUrl(UUID fileId, UUID userId) {
-        File file = filePort.findById(fileId, userId)
-                .orElseThrow(() -> new RuntimeException("File not found"));
+        return findDownloadUrl(fileId, userId)
+                .orElseThrow(() -> new RuntimeException("Direct download URL is not available for this file"));
+    }
 
-        return fileStoragePort.getPresignedUrl(file.getStorageLocation(), 3600);
+    @Override
+    public Optional<String> findDownloadUrl(UUID fileId, UUID userId) {
+        File file = getFileMetadata(fileId, userId);
+        if (!file.isOwnedBy(userId)) {
+            throw new RuntimeException("File not found");
+        }
+
+        if (!fileStoragePort.isDirectlyAddressable(file.getStorageLocation())) {
+            return Optional.empty();
+        }
+
+        String cacheKey = presignCacheKey(file.getStorageLocation());
+        if (cachePort.get(cacheKey) instanceof String url) {
+            return Optional.of(url);
+        }
+        String url = fileStoragePort.getPresignedUrl(file.getStorageLocation(), PRESIGN_EXPIRY_SECONDS);
+        cachePort.set(cacheKey, url, PRESIGN_REUSE);
+        return Optional.of(url);
+    }
+
+    /**
+     * Resolves all files with one metadata query and one cache round trip; only URLs missing
+     * from the cache are signed.
+     */
+    @Override
+    public Map<UUID, String> getDownloadUrls(List<UUID> fileIds, UUID userId) {
+        if (fileIds.size() > MAX_BATCH_URLS) {
+            throw new RuntimeException("At most " + MAX_BATCH_URLS + " download URLs can be requested at once");
+        }
+
+        List<File> files = filePort.findAllById(fileIds, userId).stream()
+                .filter(File::isActive)
+                .filter(file -> fileStoragePort.isDirectlyAddressable(file.getStorageLocation()))
+                .toList();
+        List<String> cacheKeys = files.stream()
+                .map(file -> presignCacheKey(file.getStorageLocation()))
+                .toList();
+        List<Object> cached = cachePort.multiGet(cacheKeys);
+
+        Map<UUID, String> urls = new LinkedHashMap<>();
+        Map<String, Object> signed = new HashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            File file = files.get(i);
+            if (cached.get(i) instanceof String url) {
+                urls.put(file.getId(), url);
+                continue;
+            }
+            String url = fileStoragePort.getPresignedUrl(file.getStorageLocation(), PRESIGN_EXPIRY_SECONDS);
+            signed.put(cacheKeys.get(i), url);
+            urls.put(file.getId(), url);
+        }
+        cachePort.multiSet(signed, PRESIGN_REUSE);
+        return urls;
     }
 
     @Override
@@ -147,15 +272,74 @@ public class FileService implements FileUseCase {
         return filePort.searchByName(userId, query);
     }
 
-    private String calculateChecksum(byte[] data) throws Exception {
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] hash = digest.digest(data);
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : hash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) hexString.append('0');
-            hexString.append(hex);
+    /**
+     * Presigned URLs are keyed by location and expiry, and reused only while they have at
+     * least {@link #PRESIGN_MIN_REMAINING} left, so a client never gets a URL about to expire.
+     */
+    private static String presignCacheKey(String storageLocation) {
+        return "presign:" + PRESIGN_EXPIRY_SECONDS + ":" + storageLocation;
+    }
+
+    /**
+     * A client-declared checksum is only trusted for content the user already owns, so it
+     * cannot be used to link another user's blob without having its bytes.
+     */
+    private Optional<Blob> findOwnedBlob(FileUploadRequest request, UUID userId) {
+        if (request.getChecksum() == null) {
+            return Optional.empty();
+        }
+        String checksum = request.getChecksum().toLowerCase();
+        return filePort.findActiveByOwnerAndChecksum(userId, checksum)
+                .filter(owned -> owned.getSize() == request.getSize())
+                .flatMap(owned -> blobPort.findByChecksum(checksum)
+                        .filter(blob -> blob.getStorageLocation().equals(owned.getStorageLocation())))
+                .flatMap(blob -> blobPort.acquire(checksum));
+    }
+
+    /**
+     * Storage writes are not part of the transaction, so a new object is removed again when the
+     * blob row that would have pointed at it is rolled back.
+     */
+    private void deleteOnRollback(String storageLocation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
         }
-        return hexString.toString();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    fileStoragePort.deleteFile(storageLocation);
+                } catch (Exception e) {
+                    log.warn("Failed to delete {} after rollback", storageLocation, e);
+                }
+            }
+        });
+    }
+
+    private File saveFile(FileUploadRequest request, UUID userId, UUID folderId,
+                          String checksum, String storageLocation, long size) {
+        File file = File.builder()
+                .id(UUID.randomUUID())
+                .name(request.getFileName())
+                .size(size)
+                .contentType(request.getContentType())
+                .checksum(checksum)
+                .status(File.FileStatus.ACTIVE)
+                .ownerId(userId)
+                .parentFolderId(folderId)
+                .storageLocation(storageLocation)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        File saved = filePort.save(file);
+        log.info("File uploaded successfully: {}", saved.getId());
+
+        cachePort.deletePattern("files:user:" + userId + ":*");
+
+        return saved;
     }
 }
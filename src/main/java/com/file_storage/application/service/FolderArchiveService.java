@@ -0,0 +1,158 @@
+package com.file_storage.application.service;
+
+import com.file_storage.application.port.in.FolderArchiveUseCase;
+import com.file_storage.application.port.out.ArchiveWriterPort;
+import com.file_storage.application.port.out.FilePort;
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.application.port.out.FolderPort;
+import com.file_storage.domain.model.File;
+import com.file_storage.domain.model.Folder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FolderArchiveService implements FolderArchiveUseCase {
+
+    private final FolderPort folderPort;
+    private final FilePort filePort;
+    private final FileStoragePort fileStoragePort;
+    private final ArchiveWriterPort archiveWriterPort;
+
+    private static final int PREFETCH = 2;
+    private static final int MAX_ENTRIES = 100000;
+
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "application/zip", "application/gzip", "application/x-gzip", "application/x-7z-compressed",
+            "application/x-rar-compressed", "application/vnd.rar", "application/x-bzip2", "application/x-xz",
+            "application/zstd", "application/pdf", "application/epub+zip", "application/java-archive");
+
+    /**
+     * Entries are written in folder order while the next {@link #PREFETCH} objects are already
+     * being opened, so each file's time to first byte overlaps with writing the previous one.
+     * Content that is already compressed is stored without deflating.
+     */
+    @Override
+    public void writeArchive(UUID folderId, UUID userId, OutputStream output) {
+        Folder root = folderPort.findByIdAndOwnerId(folderId, userId)
+                .orElseThrow(() -> new RuntimeException("Folder not found"));
+
+        List<ArchivedFile> files = new ArrayList<>();
+        List<String> directories = new ArrayList<>();
+        collect(root, safeName(root.getName()), userId, files, directories);
+
+        List<CompletableFuture<InputStream>> opened = new ArrayList<>(Collections.nCopies(files.size(), null));
+        boolean[] consumed = new boolean[files.size()];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<ArchiveWriterPort.Entry> entries = new ArrayList<>();
+            for (String directory : directories) {
+                entries.add(ArchiveWriterPort.Entry.directory(directory, root.getUpdatedAt()));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                File file = files.get(i).file();
+                entries.add(new ArchiveWriterPort.Entry(files.get(i).path(), file.getSize(), file.getUpdatedAt(),
+                        isCompressible(file.getContentType()), () -> {
+                    for (int next = index; next <= Math.min(index + PREFETCH, files.size() - 1); next++) {
+                        open(next, files, opened, executor);
+                    }
+                    consumed[index] = true;
+                    return opened.get(index).join();
+                }));
+            }
+
+            archiveWriterPort.writeZip(output, entries);
+            log.info("Folder {} archived: {} files", folderId, files.size());
+        } finally {
+            for (int i = 0; i < opened.size(); i++) {
+                if (opened.get(i) != null && !consumed[i]) {
+                    opened.get(i).thenAccept(FolderArchiveService::closeQuietly);
+                }
+            }
+        }
+    }
+
+    private void open(int index, List<ArchivedFile> files, List<CompletableFuture<InputStream>> opened,
+                      ExecutorService executor) {
+        if (opened.get(index) == null) {
+            String location = files.get(index).file().getStorageLocation();
+            opened.set(index, CompletableFuture.supplyAsync(() -> fileStoragePort.downloadFile(location), executor));
+        }
+    }
+
+    private void collect(Folder folder, String path, UUID userId, List<ArchivedFile> files, List<String> directories) {
+        directories.add(path);
+        Set<String> used = new HashSet<>();
+        for (File file : filePort.findByParentFolderId(folder.getId())) {
+            if (!file.isOwnedBy(userId) || !file.isActive()) {
+                continue;
+            }
+            if (files.size() >= MAX_ENTRIES) {
+                throw new RuntimeException("Folder contains more than " + MAX_ENTRIES + " files");
+            }
+            files.add(new ArchivedFile(path + "/" + uniqueName(safeName(file.getName()), used), file));
+        }
+        for (Folder child : folderPort.findByParentFolderId(folder.getId())) {
+            if (child.getOwnerId().equals(userId)) {
+                collect(child, path + "/" + uniqueName(safeName(child.getName()), used), userId, files, directories);
+            }
+        }
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("image/") && !type.equals("image/svg+xml") && !type.equals("image/bmp")) {
+            return false;
+        }
+        if (type.startsWith("video/") || type.startsWith("audio/")) {
+            return false;
+        }
+        return !COMPRESSED_TYPES.contains(type) && !type.startsWith("application/vnd.openxmlformats-officedocument");
+    }
+
+    /**
+     * Names are user input; keep them from introducing extra path segments in the archive.
+     */
+    private static String safeName(String name) {
+        String safe = name.replace('/', '_').replace('\\', '_');
+        return safe.equals(".") || safe.equals("..") || safe.isBlank() ? "_" : safe;
+    }
+
+    private static String uniqueName(String name, Set<String> used) {
+        if (used.add(name)) {
+            return name;
+        }
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int n = 1; ; n++) {
+            String candidate = base + " (" + n + ")" + extension;
+            if (used.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (Exception e) {
+            log.debug("Failed to close prefetched stream", e);
+        }
+    }
+
+    private record ArchivedFile(String path, File file) {
+    }
+}
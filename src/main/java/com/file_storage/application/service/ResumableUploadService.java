@@ -0,0 +1,264 @@
+package com.file_storage.application.service;
+
+import com.file_storage.application.exception.UploadConflictException;
+import com.file_storage.application.port.in.ChunkedUploadUseCase;
+import com.file_storage.application.port.in.ResumableUploadUseCase;
+import com.file_storage.application.port.out.LockPort;
+import com.file_storage.application.port.out.MultipartUploadPort;
+import com.file_storage.application.port.out.UploadSessionPort;
+import com.file_storage.domain.model.UploadSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadService implements ResumableUploadUseCase {
+
+    private final ChunkedUploadUseCase chunkedUploadUseCase;
+    private final UploadSessionPort uploadSessionPort;
+    private final MultipartUploadPort multipartUploadPort;
+    private final LockPort lockPort;
+
+    private static final long MIN_PART_SIZE = 8L * 1024 * 1024;
+    private static final long MAX_PART_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_PARTS = 10000;
+    private static final Duration APPEND_LOCK_TTL = Duration.ofMinutes(2);
+    private static final Duration APPEND_LOCK_RENEW_INTERVAL = Duration.ofSeconds(30);
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public UploadSession createUpload(String fileName, String contentType, long totalSize, UUID folderId, UUID userId) {
+        if (totalSize <= 0 || totalSize > getMaxUploadSize()) {
+            throw new RuntimeException("Upload length must be between 1 and " + getMaxUploadSize() + " bytes");
+        }
+
+        long partSize = partSize(totalSize);
+        int totalChunks = (int) Math.ceilDiv(totalSize, partSize);
+        return chunkedUploadUseCase.initiateUpload(fileName, totalSize, totalChunks, contentType, userId, folderId);
+    }
+
+    @Override
+    public Optional<UploadSession> findUpload(UUID sessionId, UUID userId) {
+        return uploadSessionPort.findByIdAndUserId(sessionId, userId);
+    }
+
+    /**
+     * Spools the body one part at a time, then uploads each part it completes, prefixed by the
+     * staged tail segments when the request started inside that part. Bytes that end inside a
+     * part, or that arrived before the client went away, are appended as a new tail segment
+     * and the offset moves past them, so a dropped request only loses what never arrived. The
+     * offset only reaches the upload length once completion has succeeded, so a failed
+     * completion is retried by resending the last part, or by an empty request at the final
+     * offset.
+     */
+    @Override
+    public long appendData(UUID sessionId, UUID userId, long offset, InputStream data, long length) {
+        AppendLock lock = new AppendLock("tus:" + sessionId);
+
+        try {
+            UploadSession session = uploadSessionPort.findByIdAndUserId(sessionId, userId)
+                    .orElseThrow(() -> new RuntimeException("Upload session not found"));
+            if (session.getStatus() == UploadSession.SessionStatus.COMPLETED) {
+                throw new UploadConflictException("Upload already completed", false);
+            }
+            if (session.getUploadOffset() != offset) {
+                throw new UploadConflictException("Upload offset mismatch", false);
+            }
+
+            long totalSize = session.getTotalSize();
+            if (length < 0 || length > totalSize - offset) {
+                throw new RuntimeException("Upload data exceeds the upload length");
+            }
+
+            long partSize = partSize(totalSize);
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                long partStart = position - position % partSize;
+                long partEnd = Math.min(partStart + partSize, totalSize);
+                long wanted = Math.min(end, partEnd) - position;
+
+                Path spool = createSpool();
+                try {
+                    long received = receive(data, spool, wanted, lock);
+                    lock.renew();
+
+                    if (received < wanted || position + received < partEnd) {
+                        if (received > 0) {
+                            try (InputStream segment = Files.newInputStream(spool)) {
+                                multipartUploadPort.appendTail(session.getStorageLocation(), position, segment, received);
+                            }
+                            saveOffset(session, position + received);
+                        }
+                        if (received < wanted) {
+                            log.info("Upload {} interrupted at offset {}", sessionId, session.getUploadOffset());
+                        }
+                        return session.getUploadOffset();
+                    }
+
+                    int chunkNumber = (int) (partStart / partSize);
+                    try (InputStream spooled = Files.newInputStream(spool);
+                         InputStream partData = withTail(session, partStart, position, spooled)) {
+                        chunkedUploadUseCase.uploadChunk(sessionId, chunkNumber, partData, partEnd - partStart, null, userId);
+                    }
+                    if (position > partStart) {
+                        deleteTail(session);
+                    }
+                    position = partEnd;
+                    if (partEnd < totalSize) {
+                        saveOffset(session, partEnd);
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to stage upload data", e);
+                } finally {
+                    deleteSpool(spool);
+                }
+            }
+
+            if (position == totalSize) {
+                lock.renew();
+                chunkedUploadUseCase.completeUpload(sessionId, userId);
+                deleteTail(session);
+                return totalSize;
+            }
+            return session.getUploadOffset();
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public void terminateUpload(UUID sessionId, UUID userId) {
+        chunkedUploadUseCase.cancelUpload(sessionId, userId);
+    }
+
+    @Override
+    public long getMaxUploadSize() {
+        return MAX_PART_SIZE * MAX_PARTS;
+    }
+
+    private InputStream withTail(UploadSession session, long partStart, long position, InputStream data) {
+        if (position == partStart) {
+            return data;
+        }
+        return new SequenceInputStream(
+                multipartUploadPort.readTail(session.getStorageLocation(), partStart, position), data);
+    }
+
+    /**
+     * Copies up to {@code length} bytes of the body into the spool file and returns how many
+     * arrived. A body that fails or ends early is not an error here, so the bytes that did
+     * arrive can still be kept.
+     */
+    private long receive(InputStream data, Path spool, long length, AppendLock lock) throws IOException {
+        byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+        long received = 0;
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            while (received < length) {
+                int n;
+                try {
+                    n = data.read(buffer, 0, (int) Math.min(buffer.length, length - received));
+                } catch (IOException e) {
+                    log.debug("Upload body failed after {} bytes", received, e);
+                    break;
+                }
+                if (n < 0) {
+                    break;
+                }
+                out.write(buffer, 0, n);
+                received += n;
+                lock.renewIfDue();
+            }
+        }
+        return received;
+    }
+
+    private Path createSpool() {
+        try {
+            return Files.createTempFile("tus-", ".part");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create upload spool file", e);
+        }
+    }
+
+    private void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool file {}", spool, e);
+        }
+    }
+
+    private void saveOffset(UploadSession session, long offset) {
+        session.setUploadOffset(offset);
+        if (session.getStatus() == UploadSession.SessionStatus.INITIATED) {
+            session.setStatus(UploadSession.SessionStatus.IN_PROGRESS);
+        }
+        uploadSessionPort.save(session);
+    }
+
+    private void deleteTail(UploadSession session) {
+        try {
+            multipartUploadPort.deleteTail(session.getStorageLocation());
+        } catch (Exception e) {
+            log.warn("Failed to delete staged tail for upload {}", session.getId(), e);
+        }
+    }
+
+    /**
+     * Parts are at least 8 MB and grow in whole megabytes so any size fits in 10000 parts.
+     */
+    private long partSize(long totalSize) {
+        long megabyte = 1024L * 1024;
+        long size = Math.max(MIN_PART_SIZE, Math.ceilDiv(totalSize, MAX_PARTS));
+        return Math.ceilDiv(size, megabyte) * megabyte;
+    }
+
+    /**
+     * Holds the session's append lock for the whole request, renewing it while the body streams
+     * in so a slow client keeps the lock for as long as it keeps sending. Stops the request once
+     * the lock has been lost, since another request may have taken over the session.
+     */
+    private class AppendLock {
+
+        private final String name;
+        private final String token;
+        private long renewedAt;
+
+        AppendLock(String name) {
+            this.name = name;
+            this.token = lockPort.tryAcquire(name, APPEND_LOCK_TTL)
+                    .orElseThrow(() -> new UploadConflictException("Upload is locked by another request", true));
+            this.renewedAt = System.nanoTime();
+        }
+
+        void renewIfDue() {
+            if (System.nanoTime() - renewedAt >= APPEND_LOCK_RENEW_INTERVAL.toNanos()) {
+                renew();
+            }
+        }
+
+        void renew() {
+            if (!lockPort.extend(name, token, APPEND_LOCK_TTL)) {
+                throw new UploadConflictException("Upload lock was lost", true);
+            }
+            renewedAt = System.nanoTime();
+        }
+
+        void release() {
+            lockPort.release(name, token);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.file_storage.application.service;
+
+import com.file_storage.application.port.in.ReapExpiredUploadsUseCase;
+import com.file_storage.application.port.out.*;
+import com.file_storage.domain.model.FileChunk;
+import com.file_storage.domain.model.UploadReapResult;
+import com.file_storage.domain.model.UploadSession;
+import com.file_storage.domain.model.UploadedPart;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionReaperService implements ReapExpiredUploadsUseCase {
+
+    private final UploadSessionPort uploadSessionPort;
+    private final FileChunkPort fileChunkPort;
+    private final ChunkRegistryPort chunkRegistryPort;
+    private final FileStoragePort fileStoragePort;
+    private final MultipartUploadPort multipartUploadPort;
+    private final CachePort cachePort;
+
+    @Override
+    public UploadReapResult reapExpiredUploads(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        int sessionsReaped = 0;
+        long bytesReclaimed = 0;
+        List<String> strayObjects = new ArrayList<>();
+
+        List<UploadSession> expired;
+        do {
+            expired = uploadSessionPort.findExpiredSessions(now, batchSize);
+            for (UploadSession session : expired) {
+                bytesReclaimed += reap(session, strayObjects);
+                sessionsReaped++;
+            }
+        } while (expired.size() == batchSize);
+
+        if (!strayObjects.isEmpty()) {
+            fileStoragePort.deleteFiles(strayObjects);
+        }
+        uploadSessionPort.deleteExpiredSessions();
+
+        return UploadReapResult.builder()
+                .sessionsReaped(sessionsReaped)
+                .objectsDeleted(strayObjects.size())
+                .bytesReclaimed(bytesReclaimed)
+                .build();
+    }
+
+    private long reap(UploadSession session, List<String> strayObjects) {
+        long bytes = 0;
+        if (session.getMultipartUploadId() != null) {
+            try {
+                bytes = multipartUploadPort.listUploadedParts(
+                                session.getStorageLocation(), session.getMultipartUploadId())
+                        .stream()
+                        .mapToLong(UploadedPart::getSize)
+                        .sum();
+                multipartUploadPort.abortMultipartUpload(
+                        session.getStorageLocation(), session.getMultipartUploadId());
+                if (session.getUploadOffset() > 0) {
+                    multipartUploadPort.deleteTail(session.getStorageLocation());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to abort multipart upload for expired session {}", session.getId(), e);
+            }
+        }
+
+        fileChunkPort.findByUploadSessionId(session.getId()).stream()
+                .map(FileChunk::getStorageLocation)
+                .filter(Objects::nonNull)
+                .filter(location -> !location.equals(session.getStorageLocation()))
+                .distinct()
+                .forEach(strayObjects::add);
+
+        fileChunkPort.deleteBySessionId(session.getId());
+        chunkRegistryPort.delete(session.getId());
+
+        session.setStatus(UploadSession.SessionStatus.EXPIRED);
+        uploadSessionPort.save(session);
+        cachePort.delete("upload:session:" + session.getId());
+
+        log.info("Reaped expired upload session {} ({} bytes)", session.getId(), bytes);
+        return bytes;
+    }
+}
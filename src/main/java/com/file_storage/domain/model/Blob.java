@@ -0,0 +1,13 @@
+package com.file_storage.domain.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class Blob {
+    private final String checksum;
+    private final String storageLocation;
+    private final long size;
+    private final long refCount;
+}
@@ -0,0 +1,16 @@
+package com.file_storage.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockSignature {
+    private long index;
+    private int weak;
+    private String strong;
+}
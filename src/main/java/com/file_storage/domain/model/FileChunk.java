@@ -20,6 +20,7 @@ public class FileChunk {
     private Integer totalChunks;
     private Long chunkSize;
     private String checksum;
+    private String etag;
     private String storageLocation;
     private ChunkStatus status;
     private LocalDateTime uploadedAt;
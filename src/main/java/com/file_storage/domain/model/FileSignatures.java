@@ -0,0 +1,19 @@
+package com.file_storage.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileSignatures {
+    private String checksum;
+    private int blockSize;
+    private long size;
+    private List<BlockSignature> blocks;
+}
@@ -11,5 +11,9 @@ public class FileUploadRequest {
     private final InputStream inputStream;
     private final String fileName;
     private final String contentType;
+    /**
+     * Declared size in bytes, or -1 when the length is only known once the stream ends.
+     */
     private final long size;
+    private final String checksum;
 }
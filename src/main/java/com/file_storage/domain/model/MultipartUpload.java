@@ -0,0 +1,11 @@
+package com.file_storage.domain.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class MultipartUpload {
+    private final String storageLocation;
+    private final String uploadId;
+}
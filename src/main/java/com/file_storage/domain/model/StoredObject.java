@@ -0,0 +1,12 @@
+package com.file_storage.domain.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class StoredObject {
+    private final String storageLocation;
+    private final long size;
+    private final String etag;
+}
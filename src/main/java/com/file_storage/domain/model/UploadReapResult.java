@@ -0,0 +1,12 @@
+package com.file_storage.domain.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class UploadReapResult {
+    private final int sessionsReaped;
+    private final int objectsDeleted;
+    private final long bytesReclaimed;
+}
@@ -21,6 +21,9 @@ public class UploadSession {
     private Integer totalChunks;
     private Integer uploadedChunks;
     private String contentType;
+    private String storageLocation;
+    private String multipartUploadId;
+    private long uploadOffset;
     private SessionStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime expiresAt;
@@ -0,0 +1,61 @@
+package com.file_storage.infrastructure.archive;
+
+import com.file_storage.application.port.out.ArchiveReaderPort;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+@Component
+public class CommonsCompressArchiveReader implements ArchiveReaderPort {
+
+    @Override
+    public void readEntries(InputStream archive, String format, EntryHandler handler) {
+        try (ArchiveInputStream<? extends ArchiveEntry> in = open(archive, format)) {
+            ArchiveEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (!isRegularFile(entry) || !in.canReadEntryData(entry)) {
+                    continue;
+                }
+                handler.handle(entry.getName(), entry.getSize(), new FilterInputStream(in) {
+                    @Override
+                    public void close() {
+                        // the archive stream stays open for the next entry
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read archive", e);
+        }
+    }
+
+    private ArchiveInputStream<? extends ArchiveEntry> open(InputStream archive, String format) throws IOException {
+        return switch (format) {
+            // Entries written by streaming zip tools carry their sizes after the data
+            case "zip" -> new ZipArchiveInputStream(archive, "UTF-8", true, true);
+            case "tar" -> new TarArchiveInputStream(archive);
+            case "tar.gz" -> new TarArchiveInputStream(new GzipCompressorInputStream(archive));
+            default -> throw new RuntimeException("Unsupported archive format: " + format);
+        };
+    }
+
+    private boolean isRegularFile(ArchiveEntry entry) {
+        if (entry instanceof TarArchiveEntry tarEntry) {
+            return tarEntry.isFile();
+        }
+        if (entry instanceof ZipArchiveEntry zipEntry) {
+            return !zipEntry.isDirectory() && !zipEntry.isUnixSymlink();
+        }
+        return !entry.isDirectory();
+    }
+}
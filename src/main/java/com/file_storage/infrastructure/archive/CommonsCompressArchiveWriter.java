@@ -0,0 +1,65 @@
+package com.file_storage.infrastructure.archive;
+
+import com.file_storage.application.port.out.ArchiveWriterPort;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.attribute.FileTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.zip.Deflater;
+
+@Component
+public class CommonsCompressArchiveWriter implements ArchiveWriterPort {
+
+    @Override
+    public void writeZip(OutputStream output, List<Entry> entries) {
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(new FilterOutputStream(output) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                // the response stream is closed by its owner
+                flush();
+            }
+        })) {
+            zip.setUseZip64(Zip64Mode.AsNeeded);
+            zip.setMethod(ZipArchiveOutputStream.DEFLATED);
+            for (Entry entry : entries) {
+                ZipArchiveEntry zipEntry = new ZipArchiveEntry(entry.path());
+                if (entry.modified() != null) {
+                    zipEntry.setLastModifiedTime(FileTime.from(entry.modified().atZone(ZoneId.systemDefault()).toInstant()));
+                }
+                if (entry.content() == null) {
+                    zip.putArchiveEntry(zipEntry);
+                    zip.closeArchiveEntry();
+                    continue;
+                }
+
+                // A known size lets the local header carry ZIP64 fields for entries over 4GB,
+                // which a non-seekable output cannot patch in afterwards.
+                zipEntry.setSize(entry.size());
+                zip.setLevel(entry.compress() ? Deflater.DEFAULT_COMPRESSION : Deflater.NO_COMPRESSION);
+                zip.putArchiveEntry(zipEntry);
+                try (InputStream content = entry.content().get()) {
+                    content.transferTo(zip);
+                }
+                zip.closeArchiveEntry();
+            }
+            zip.finish();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write archive", e);
+        }
+    }
+}
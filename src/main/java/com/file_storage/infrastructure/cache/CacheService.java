@@ -3,10 +3,17 @@ package com.file_storage.infrastructure.cache;
 import com.file_storage.application.port.out.CachePort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -36,6 +43,43 @@ public class CacheService implements CachePort {
         }
     }
 
+    @Override
+    public List<Object> multiGet(List<String> keys) {
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values != null) {
+                return values;
+            }
+        } catch (Exception e) {
+            log.error("Error retrieving {} cached values", keys.size(), e);
+        }
+        return new ArrayList<>(Collections.nCopies(keys.size(), null));
+    }
+
+    /**
+     * Sets all values with their expiry in one pipelined round trip.
+     */
+    @Override
+    public void multiSet(Map<String, Object> values, Duration ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                    values.forEach((key, value) -> redis.opsForValue().set(key, value, ttl));
+                    return null;
+                }
+            });
+            log.debug("Cached {} values", values.size());
+        } catch (Exception e) {
+            log.error("Error caching {} values", values.size(), e);
+        }
+    }
+
     @Override
     public void delete(String key) {
         try {
@@ -1,5 +1,7 @@
 package com.file_storage.infrastructure.config;
 
+import com.file_storage.infrastructure.storage.MinioMultipartClient;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -14,6 +16,20 @@ public class MinioConfig {
     private String accessKey;
     private String secretKey;
     private String bucketName;
+    private ParallelDownload parallelDownload = new ParallelDownload();
+
+    /**
+     * Objects of at least {@code threshold} bytes are downloaded as {@code rangeSize} ranges,
+     * {@code concurrency} at a time, with up to {@code window} ranges buffered ahead.
+     */
+    @Data
+    public static class ParallelDownload {
+        private boolean enabled = false;
+        private long threshold = 256L * 1024 * 1024;
+        private long rangeSize = 8L * 1024 * 1024;
+        private int concurrency = 4;
+        private int window = 6;
+    }
 
     @Bean
     public MinioClient minioClient() {
@@ -22,4 +38,12 @@ public class MinioConfig {
                 .credentials(accessKey, secretKey)
                 .build();
     }
+
+    @Bean
+    public MinioMultipartClient minioMultipartClient() {
+        return new MinioMultipartClient(MinioAsyncClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .build());
+    }
 }
@@ -0,0 +1,151 @@
+package com.file_storage.infrastructure.config;
+
+import com.file_storage.application.port.out.BlobPort;
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.infrastructure.persistence.repository.PackEntryRepository;
+import com.file_storage.infrastructure.persistence.repository.PackRepository;
+import com.file_storage.infrastructure.storage.ContentDefinedStorageAdapter;
+import com.file_storage.infrastructure.storage.LocalCacheStorageAdapter;
+import com.file_storage.infrastructure.storage.MinioStorageAdapter;
+import com.file_storage.infrastructure.storage.PackedStorageAdapter;
+import com.file_storage.infrastructure.storage.SingleFlightStorageAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "storage")
+@Data
+public class StorageConfig {
+    /**
+     * {@code object} stores each file as one object; {@code cdc} splits files into shared
+     * content-defined chunks.
+     */
+    private String mode = "object";
+    private Cdc cdc = new Cdc();
+    private Packing packing = new Packing();
+    private LocalCache localCache = new LocalCache();
+    private SingleFlight singleFlight = new SingleFlight();
+    private Download download = new Download();
+
+    @Data
+    public static class Cdc {
+        private int minSize = 256 * 1024;
+        private int avgSize = 1024 * 1024;
+        private int maxSize = 4 * 1024 * 1024;
+    }
+
+    /**
+     * Files up to {@code maxFileSize} are packed together into objects of about
+     * {@code targetPackSize}; packs whose live bytes fall below {@code compactionThreshold}
+     * are rewritten.
+     */
+    @Data
+    public static class Packing {
+        private boolean enabled = false;
+        private long maxFileSize = 512 * 1024;
+        private long targetPackSize = 64L * 1024 * 1024;
+        private Duration maxStagingAge = Duration.ofMinutes(10);
+        private double compactionThreshold = 0.5;
+        private Duration gracePeriod = Duration.ofMinutes(15);
+        private Duration lockTtl = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Node-local disk cache of whole objects, bounded by {@code maxSize} bytes. Objects larger
+     * than {@code maxObjectSize} are never cached. Evicted files stay on disk for
+     * {@code deleteDelay}, since a response may still be sending them.
+     */
+    @Data
+    public static class LocalCache {
+        private boolean enabled = false;
+        private String directory = "/var/cache/file-storage";
+        private long maxSize = 10L * 1024 * 1024 * 1024;
+        private long maxObjectSize = 512L * 1024 * 1024;
+        private Duration deleteDelay = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Concurrent downloads of the same object share one read from storage, spooled under
+     * {@code directory}. Spools in use are bounded by {@code maxSpoolSize} bytes and are not
+     * part of the local cache.
+     */
+    @Data
+    public static class SingleFlight {
+        private boolean enabled = true;
+        private String directory = "/tmp/file-storage-flights";
+        private long maxSpoolSize = 20L * 1024 * 1024 * 1024;
+    }
+
+    /**
+     * {@code stream} sends file bytes through the application, {@code redirect} answers with a
+     * 307 to a presigned storage URL, and {@code accel} hands the presigned URL to nginx through
+     * {@code X-Accel-Redirect} as {@code <accelPrefix>/<scheme>/<host>/<path>?<query>}. Files
+     * that cannot be fetched from storage directly are always streamed.
+     */
+    @Data
+    public static class Download {
+        private String mode = "stream";
+        private String accelPrefix = "/internal/storage";
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "storage.packing", name = "enabled", havingValue = "true")
+    public PackedStorageAdapter packedStorageAdapter(MinioStorageAdapter minioStorageAdapter, BlobPort blobPort,
+                                                     PackRepository packRepository,
+                                                     PackEntryRepository packEntryRepository,
+                                                     PlatformTransactionManager transactionManager) {
+        return new PackedStorageAdapter(baseStorage(minioStorageAdapter, blobPort, transactionManager),
+                minioStorageAdapter, packRepository, packEntryRepository, packing);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "storage.local-cache", name = "enabled", havingValue = "true")
+    public LocalCacheStorageAdapter localCacheStorageAdapter(MinioStorageAdapter minioStorageAdapter, BlobPort blobPort,
+                                                             ObjectProvider<PackedStorageAdapter> packedStorageAdapter,
+                                                             PlatformTransactionManager transactionManager,
+                                                             MeterRegistry meterRegistry) {
+        return new LocalCacheStorageAdapter(
+                uncachedStorage(minioStorageAdapter, blobPort, packedStorageAdapter, transactionManager, meterRegistry),
+                localCache, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public FileStoragePort fileStoragePort(MinioStorageAdapter minioStorageAdapter, BlobPort blobPort,
+                                           ObjectProvider<PackedStorageAdapter> packedStorageAdapter,
+                                           ObjectProvider<LocalCacheStorageAdapter> localCacheStorageAdapter,
+                                           PlatformTransactionManager transactionManager,
+                                           MeterRegistry meterRegistry) {
+        return localCacheStorageAdapter.getIfAvailable(() -> uncachedStorage(
+                minioStorageAdapter, blobPort, packedStorageAdapter, transactionManager, meterRegistry));
+    }
+
+    private FileStoragePort uncachedStorage(MinioStorageAdapter minioStorageAdapter, BlobPort blobPort,
+                                            ObjectProvider<PackedStorageAdapter> packedStorageAdapter,
+                                            PlatformTransactionManager transactionManager,
+                                            MeterRegistry meterRegistry) {
+        FileStoragePort storage = packedStorageAdapter.getIfAvailable(
+                () -> baseStorage(minioStorageAdapter, blobPort, transactionManager));
+        if (singleFlight.isEnabled()) {
+            storage = new SingleFlightStorageAdapter(storage, singleFlight, meterRegistry);
+        }
+        return storage;
+    }
+
+    private FileStoragePort baseStorage(MinioStorageAdapter minioStorageAdapter, BlobPort blobPort,
+                                        PlatformTransactionManager transactionManager) {
+        if ("cdc".equals(mode)) {
+            return new ContentDefinedStorageAdapter(minioStorageAdapter, blobPort, cdc, transactionManager);
+        }
+        return minioStorageAdapter;
+    }
+}
@@ -0,0 +1,22 @@
+package com.file_storage.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "upload")
+@Data
+public class UploadConfig {
+    private String sessionStore = "redis";
+    private Duration sessionRetention = Duration.ofHours(24);
+    private Reaper reaper = new Reaper();
+
+    @Data
+    public static class Reaper {
+        private int batchSize = 100;
+        private Duration lockTtl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,50 @@
+package com.file_storage.infrastructure.config;
+
+import com.file_storage.infrastructure.web.filter.ResponseWriteTimeoutFilter;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Streaming responses are written on virtual threads, so a slow client holds a cheap thread
+ * rather than one of the Tomcat workers that serve API calls. At most
+ * {@code maxConcurrentStreams} responses stream at once; beyond that requests are rejected
+ * instead of queueing. Async requests have no overall timeout, since a large download to a
+ * slow but steady client may legitimately take hours; instead a response whose single write
+ * stalls for longer than {@code writeTimeout} is aborted, so a client that stops reading
+ * cannot hold a stream.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "web.async")
+@Data
+public class WebAsyncConfig implements WebMvcConfigurer {
+    private int maxConcurrentStreams = 5000;
+    private Duration writeTimeout = Duration.ofSeconds(30);
+
+    @Bean
+    public AsyncTaskExecutor streamingTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("stream-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrentStreams);
+        executor.setRejectTasksWhenLimitReached(true);
+        return executor;
+    }
+
+    @Bean
+    public ResponseWriteTimeoutFilter responseWriteTimeoutFilter() {
+        return new ResponseWriteTimeoutFilter(writeTimeout);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        configurer.setDefaultTimeout(-1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.file_storage.infrastructure.lock;
+
+import com.file_storage.application.port.out.LockPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLockAdapter implements LockPort {
+
+    private static final String KEY_PREFIX = "lock:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> EXTEND_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Optional<String> tryAcquire(String lockName, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + lockName, token, ttl);
+            return Boolean.TRUE.equals(acquired) ? Optional.of(token) : Optional.empty();
+        } catch (Exception e) {
+            log.error("Error acquiring lock: {}", lockName, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void release(String lockName, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + lockName), token);
+        } catch (Exception e) {
+            log.error("Error releasing lock: {}", lockName, e);
+        }
+    }
+
+    @Override
+    public boolean extend(String lockName, String token, Duration ttl) {
+        try {
+            Long extended = redisTemplate.execute(EXTEND_SCRIPT, List.of(KEY_PREFIX + lockName), token,
+                    Long.toString(ttl.toMillis()));
+            return extended != null && extended == 1;
+        } catch (Exception e) {
+            log.error("Error extending lock: {}", lockName, e);
+            return false;
+        }
+    }
+}
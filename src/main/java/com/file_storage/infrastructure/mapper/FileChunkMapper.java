@@ -0,0 +1,45 @@
+package com.file_storage.infrastructure.mapper;
+
+import com.file_storage.domain.model.FileChunk;
+import com.file_storage.infrastructure.persistence.entity.upload.FileChunkEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileChunkMapper {
+
+    public FileChunk toDomain(FileChunkEntity entity) {
+        if (entity == null) return null;
+
+        return FileChunk.builder()
+                .id(entity.getId())
+                .uploadSessionId(entity.getUploadSessionId())
+                .fileId(entity.getFileId())
+                .chunkNumber(entity.getChunkNumber())
+                .totalChunks(entity.getTotalChunks())
+                .chunkSize(entity.getChunkSize())
+                .checksum(entity.getChecksum())
+                .etag(entity.getEtag())
+                .storageLocation(entity.getStorageLocation())
+                .status(FileChunk.ChunkStatus.valueOf(entity.getStatus().name()))
+                .uploadedAt(entity.getUploadedAt())
+                .build();
+    }
+
+    public FileChunkEntity toEntity(FileChunk domain) {
+        if (domain == null) return null;
+
+        return FileChunkEntity.builder()
+                .id(domain.getId())
+                .uploadSessionId(domain.getUploadSessionId())
+                .fileId(domain.getFileId())
+                .chunkNumber(domain.getChunkNumber())
+                .totalChunks(domain.getTotalChunks())
+                .chunkSize(domain.getChunkSize())
+                .checksum(domain.getChecksum())
+                .etag(domain.getEtag())
+                .storageLocation(domain.getStorageLocation())
+                .status(FileChunkEntity.ChunkStatus.valueOf(domain.getStatus().name()))
+                .uploadedAt(domain.getUploadedAt())
+                .build();
+    }
+}
@@ -42,4 +42,16 @@ public class FileMapper {
                 .deletedAt(domain.getDeletedAt())
                 .build();
     }
+
+    public FileMetaDataEntity updateEntity(File domain, FileMetaDataEntity entity) {
+        entity.setName(domain.getName());
+        entity.setSize(domain.getSize());
+        entity.setContentType(domain.getContentType());
+        entity.setChecksum(domain.getChecksum());
+        entity.setStatus(FileMetaDataEntity.FileStatus.valueOf(domain.getStatus().name()));
+        entity.setParentFolderId(domain.getParentFolderId());
+        entity.setStorageLocation(domain.getStorageLocation());
+        entity.setDeletedAt(domain.getDeletedAt());
+        return entity;
+    }
 }
@@ -0,0 +1,43 @@
+package com.file_storage.infrastructure.mapper;
+
+import com.file_storage.domain.model.FileVersion;
+import com.file_storage.infrastructure.persistence.entity.file.FileVersionEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileVersionMapper {
+
+    public FileVersion toDomain(FileVersionEntity entity) {
+        if (entity == null) return null;
+
+        return FileVersion.builder()
+                .id(entity.getId())
+                .fileId(entity.getFileId())
+                .versionNumber(entity.getVersionNumber())
+                .size(entity.getSize())
+                .checksum(entity.getChecksum())
+                .storageLocation(entity.getStorageLocation())
+                .createdBy(entity.getCreatedBy())
+                .createdAt(entity.getCreatedAt())
+                .comment(entity.getComment())
+                .isCurrent(entity.isCurrent())
+                .build();
+    }
+
+    public FileVersionEntity toEntity(FileVersion domain) {
+        if (domain == null) return null;
+
+        return FileVersionEntity.builder()
+                .id(domain.getId())
+                .fileId(domain.getFileId())
+                .versionNumber(domain.getVersionNumber())
+                .size(domain.getSize())
+                .checksum(domain.getChecksum())
+                .storageLocation(domain.getStorageLocation())
+                .createdBy(domain.getCreatedBy())
+                .createdAt(domain.getCreatedAt())
+                .comment(domain.getComment())
+                .current(domain.isCurrent())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.file_storage.infrastructure.mapper;
+
+import com.file_storage.domain.model.UploadSession;
+import com.file_storage.infrastructure.persistence.entity.upload.UploadSessionEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UploadSessionMapper {
+
+    public UploadSession toDomain(UploadSessionEntity entity) {
+        if (entity == null) return null;
+
+        return UploadSession.builder()
+                .id(entity.getId())
+                .userId(entity.getUserId())
+                .folderId(entity.getFolderId())
+                .fileName(entity.getFileName())
+                .totalSize(entity.getTotalSize())
+                .totalChunks(entity.getTotalChunks())
+                .uploadedChunks(0)
+                .contentType(entity.getContentType())
+                .storageLocation(entity.getStorageLocation())
+                .multipartUploadId(entity.getMultipartUploadId())
+                .uploadOffset(entity.getUploadOffset())
+                .status(UploadSession.SessionStatus.valueOf(entity.getStatus().name()))
+                .createdAt(entity.getCreatedAt())
+                .expiresAt(entity.getExpiresAt())
+                .completedAt(entity.getCompletedAt())
+                .build();
+    }
+
+    public UploadSessionEntity toEntity(UploadSession domain) {
+        if (domain == null) return null;
+
+        UploadSessionEntity entity = new UploadSessionEntity();
+        updateEntity(domain, entity);
+        return entity;
+    }
+
+    public UploadSessionEntity updateEntity(UploadSession domain, UploadSessionEntity entity) {
+        entity.setId(domain.getId());
+        entity.setUserId(domain.getUserId());
+        entity.setFolderId(domain.getFolderId());
+        entity.setFileName(domain.getFileName());
+        entity.setTotalSize(domain.getTotalSize());
+        entity.setTotalChunks(domain.getTotalChunks());
+        entity.setContentType(domain.getContentType());
+        entity.setStorageLocation(domain.getStorageLocation());
+        entity.setMultipartUploadId(domain.getMultipartUploadId());
+        entity.setUploadOffset(domain.getUploadOffset());
+        entity.setStatus(UploadSessionEntity.SessionStatus.valueOf(domain.getStatus().name()));
+        entity.setExpiresAt(domain.getExpiresAt());
+        entity.setCompletedAt(domain.getCompletedAt());
+        return entity;
+    }
+}
@@ -0,0 +1,66 @@
+package com.file_storage.infrastructure.persistence.adapter;
+
+import com.file_storage.application.port.out.BlobPort;
+import com.file_storage.domain.model.Blob;
+import com.file_storage.infrastructure.persistence.entity.blob.BlobEntity;
+import com.file_storage.infrastructure.persistence.repository.BlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class BlobPortAdapter implements BlobPort {
+
+    private final BlobRepository blobRepository;
+
+    @Override
+    public Optional<Blob> findByChecksum(String checksum) {
+        return blobRepository.findById(checksum).map(this::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Blob> acquire(String checksum) {
+        if (blobRepository.incrementRefCount(checksum) == 0) {
+            return Optional.empty();
+        }
+        return findByChecksum(checksum);
+    }
+
+    @Override
+    @Transactional
+    public Blob register(String checksum, String storageLocation, long size) {
+        String location = blobRepository.upsert(checksum, storageLocation, size);
+        return Blob.builder()
+                .checksum(checksum)
+                .storageLocation(location)
+                .size(size)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Optional<Blob> release(String checksum) {
+        Optional<BlobEntity> blob = blobRepository.findById(checksum);
+        Optional<Long> remaining = blobRepository.decrementRefCount(checksum);
+        if (blob.isEmpty() || remaining.isEmpty() || remaining.get() > 0) {
+            return Optional.empty();
+        }
+        if (blobRepository.deleteIfUnreferenced(checksum) == 0) {
+            return Optional.empty();
+        }
+        return blob.map(this::toDomain);
+    }
+
+    private Blob toDomain(BlobEntity entity) {
+        return Blob.builder()
+                .checksum(entity.getChecksum())
+                .storageLocation(entity.getStorageLocation())
+                .size(entity.getSize())
+                .refCount(entity.getRefCount())
+                .build();
+    }
+}
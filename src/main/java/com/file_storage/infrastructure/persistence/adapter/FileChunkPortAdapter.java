@@ -0,0 +1,62 @@
+package com.file_storage.infrastructure.persistence.adapter;
+
+import com.file_storage.application.port.out.FileChunkPort;
+import com.file_storage.domain.model.FileChunk;
+import com.file_storage.infrastructure.mapper.FileChunkMapper;
+import com.file_storage.infrastructure.persistence.entity.upload.FileChunkEntity;
+import com.file_storage.infrastructure.persistence.repository.FileChunkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(prefix = "upload", name = "session-store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class FileChunkPortAdapter implements FileChunkPort {
+
+    private final FileChunkRepository fileChunkRepository;
+    private final FileChunkMapper fileChunkMapper;
+
+    @Override
+    public FileChunk save(FileChunk chunk) {
+        fileChunkRepository.upsert(fileChunkMapper.toEntity(chunk));
+        return chunk;
+    }
+
+    @Override
+    public Optional<FileChunk> findById(UUID chunkId) {
+        return fileChunkRepository.findById(chunkId).map(fileChunkMapper::toDomain);
+    }
+
+    @Override
+    public List<FileChunk> findByUploadSessionId(UUID sessionId) {
+        return fileChunkRepository.findByUploadSessionIdOrderByChunkNumber(sessionId)
+                .stream()
+                .map(fileChunkMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<FileChunk> findCompletedChunksBySessionId(UUID sessionId) {
+        return fileChunkRepository.findByUploadSessionIdAndStatusOrderByChunkNumber(
+                        sessionId, FileChunkEntity.ChunkStatus.COMPLETED)
+                .stream()
+                .map(fileChunkMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void delete(UUID sessionId, int chunkNumber) {
+        fileChunkRepository.deleteChunk(sessionId, chunkNumber);
+    }
+
+    @Override
+    public void deleteBySessionId(UUID sessionId) {
+        fileChunkRepository.deleteByUploadSessionId(sessionId);
+    }
+}
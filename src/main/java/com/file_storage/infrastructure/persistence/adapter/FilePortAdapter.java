@@ -6,8 +6,11 @@ import com.file_storage.infrastructure.mapper.FileMapper;
 import com.file_storage.infrastructure.persistence.entity.file.FileMetaDataEntity;
 import com.file_storage.infrastructure.persistence.repository.FileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,20 +22,64 @@ public class FilePortAdapter implements FilePort {
 
     private final FileRepository fileRepository;
     private final FileMapper fileMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final String INSERT_FILE_SQL = """
+            INSERT INTO files (id, name, size, content_type, checksum, status, owner_id, parent_folder_id,
+                               storage_location, created_at, updated_at, created_by, updated_by, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
 
     @Override
     public File save(File file) {
-        FileMetaDataEntity entity = fileMapper.toEntity(file);
+        FileMetaDataEntity entity = Optional.ofNullable(file.getId())
+                .flatMap(fileRepository::findById)
+                .map(existing -> fileMapper.updateEntity(file, existing))
+                .orElseGet(() -> fileMapper.toEntity(file));
         FileMetaDataEntity saved = fileRepository.save(entity);
         return fileMapper.toDomain(saved);
     }
 
+    /**
+     * Inserts new files with JDBC batching, bypassing the persistence context so large batches
+     * do not pay per-entity flush and dirty-checking costs. The audit columns are filled with
+     * the owner, since entity auditing does not run for these rows.
+     */
+    @Override
+    @Transactional
+    public void saveAll(List<File> files) {
+        jdbcTemplate.batchUpdate(INSERT_FILE_SQL, files, INSERT_BATCH_SIZE, (statement, file) -> {
+            statement.setObject(1, file.getId());
+            statement.setString(2, file.getName());
+            statement.setLong(3, file.getSize());
+            statement.setString(4, file.getContentType());
+            statement.setString(5, file.getChecksum());
+            statement.setString(6, file.getStatus().name());
+            statement.setObject(7, file.getOwnerId());
+            statement.setObject(8, file.getParentFolderId());
+            statement.setString(9, file.getStorageLocation());
+            statement.setTimestamp(10, Timestamp.valueOf(file.getCreatedAt()));
+            statement.setTimestamp(11, Timestamp.valueOf(file.getUpdatedAt()));
+            statement.setString(12, file.getOwnerId().toString());
+            statement.setString(13, file.getOwnerId().toString());
+        });
+    }
+
     @Override
     public Optional<File> findById(UUID fileId, UUID userId) {
         return fileRepository.findByIdAndOwnerId(fileId, userId)
                 .map(fileMapper::toDomain);
     }
 
+    @Override
+    public List<File> findAllById(List<UUID> fileIds, UUID userId) {
+        return fileRepository.findByIdInAndOwnerId(fileIds, userId)
+                .stream()
+                .map(fileMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<File> findActiveFilesByOwner(UUID userId) {
         return fileRepository.findActiveFilesByOwner(userId)
@@ -57,6 +104,13 @@ public class FilePortAdapter implements FilePort {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Optional<File> findActiveByOwnerAndChecksum(UUID userId, String checksum) {
+        return fileRepository.findFirstByOwnerIdAndChecksumAndStatus(
+                        userId, checksum, FileMetaDataEntity.FileStatus.ACTIVE)
+                .map(fileMapper::toDomain);
+    }
+
     @Override
     public void delete(UUID fileId) {
         fileRepository.findById(fileId).ifPresent(entity -> {
@@ -0,0 +1,49 @@
+package com.file_storage.infrastructure.persistence.adapter;
+
+import com.file_storage.application.port.out.FileVersionPort;
+import com.file_storage.domain.model.FileVersion;
+import com.file_storage.infrastructure.mapper.FileVersionMapper;
+import com.file_storage.infrastructure.persistence.repository.FileVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class FileVersionPortAdapter implements FileVersionPort {
+
+    private final FileVersionRepository fileVersionRepository;
+    private final FileVersionMapper fileVersionMapper;
+
+    @Override
+    public FileVersion save(FileVersion version) {
+        return fileVersionMapper.toDomain(fileVersionRepository.save(fileVersionMapper.toEntity(version)));
+    }
+
+    @Override
+    public Optional<FileVersion> findById(UUID versionId) {
+        return fileVersionRepository.findById(versionId).map(fileVersionMapper::toDomain);
+    }
+
+    @Override
+    public List<FileVersion> findByFileId(UUID fileId) {
+        return fileVersionRepository.findByFileIdOrderByVersionNumberDesc(fileId)
+                .stream()
+                .map(fileVersionMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<FileVersion> findCurrentVersion(UUID fileId) {
+        return fileVersionRepository.findFirstByFileIdAndCurrentTrue(fileId).map(fileVersionMapper::toDomain);
+    }
+
+    @Override
+    public void markAllAsOld(UUID fileId) {
+        fileVersionRepository.markAllAsOld(fileId);
+    }
+}
@@ -0,0 +1,79 @@
+package com.file_storage.infrastructure.persistence.adapter;
+
+import com.file_storage.application.port.out.ChunkRegistryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Tracks uploaded chunks as one bit per chunk number in a Redis bitmap.
+ * SETBIT is atomic and returns the previous bit, so parallel and retried
+ * chunk uploads are counted exactly once without locking the session.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisChunkRegistryAdapter implements ChunkRegistryPort {
+
+    private static final String KEY_PREFIX = "upload:chunks:bitmap:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void register(UUID sessionId, int totalChunks, LocalDateTime expiresAt) {
+        String key = key(sessionId);
+        redisTemplate.opsForValue().setBit(key, totalChunks - 1, false);
+        redisTemplate.expireAt(key, expiresAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Override
+    public boolean markUploaded(UUID sessionId, int chunkNumber) {
+        Boolean previous = redisTemplate.opsForValue().setBit(key(sessionId), chunkNumber, true);
+        return !Boolean.TRUE.equals(previous);
+    }
+
+    @Override
+    public void markMissing(UUID sessionId, int chunkNumber) {
+        redisTemplate.opsForValue().setBit(key(sessionId), chunkNumber, false);
+    }
+
+    @Override
+    public long countUploaded(UUID sessionId) {
+        byte[] rawKey = key(sessionId).getBytes(StandardCharsets.UTF_8);
+        Long count = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.stringCommands().bitCount(rawKey));
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public BitSet getUploaded(UUID sessionId) {
+        byte[] rawKey = key(sessionId).getBytes(StandardCharsets.UTF_8);
+        byte[] bitmap = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(rawKey));
+        if (bitmap == null) {
+            return new BitSet();
+        }
+
+        // Redis numbers bits from the most significant bit of each byte, BitSet from the least.
+        byte[] littleEndianBits = new byte[bitmap.length];
+        for (int i = 0; i < bitmap.length; i++) {
+            littleEndianBits[i] = (byte) (Integer.reverse(bitmap[i] & 0xff) >>> 24);
+        }
+        return BitSet.valueOf(littleEndianBits);
+    }
+
+    @Override
+    public void delete(UUID sessionId) {
+        redisTemplate.delete(key(sessionId));
+    }
+
+    private String key(UUID sessionId) {
+        return KEY_PREFIX + sessionId;
+    }
+}
@@ -0,0 +1,132 @@
+package com.file_storage.infrastructure.persistence.adapter;
+
+import com.file_storage.application.port.out.FileChunkPort;
+import com.file_storage.domain.model.FileChunk;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the chunks of a session in one Redis hash keyed by chunk number, so saving a
+ * retried chunk overwrites the previous entry. The hash inherits the session's TTL.
+ */
+@Component
+@ConditionalOnProperty(prefix = "upload", name = "session-store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisFileChunkPortAdapter implements FileChunkPort {
+
+    private static final String CHUNK_INDEX_KEY_PREFIX = "upload:store:chunk:";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final int FIELD_COUNT = 10;
+
+    private static final RedisScript<Long> SAVE_CHUNK_SCRIPT = RedisScript.of("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            local ttl = redis.call('PTTL', KEYS[2])
+            if ttl > 0 then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return ttl
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public FileChunk save(FileChunk chunk) {
+        UUID sessionId = chunk.getUploadSessionId();
+        Long ttl = redisTemplate.execute(
+                SAVE_CHUNK_SCRIPT,
+                List.of(RedisUploadSessionPortAdapter.chunksKey(sessionId),
+                        RedisUploadSessionPortAdapter.sessionKey(sessionId)),
+                chunk.getChunkNumber().toString(),
+                encode(chunk)
+        );
+
+        String indexKey = CHUNK_INDEX_KEY_PREFIX + chunk.getId();
+        if (ttl != null && ttl > 0) {
+            redisTemplate.opsForValue().set(indexKey, sessionId + ":" + chunk.getChunkNumber(), Duration.ofMillis(ttl));
+        }
+        return chunk;
+    }
+
+    @Override
+    public Optional<FileChunk> findById(UUID chunkId) {
+        String location = redisTemplate.opsForValue().get(CHUNK_INDEX_KEY_PREFIX + chunkId);
+        if (location == null) {
+            return Optional.empty();
+        }
+
+        String[] parts = location.split(":");
+        UUID sessionId = UUID.fromString(parts[0]);
+        Object value = redisTemplate.opsForHash().get(RedisUploadSessionPortAdapter.chunksKey(sessionId), parts[1]);
+        return Optional.ofNullable(value).map(v -> decode(sessionId, (String) v));
+    }
+
+    @Override
+    public List<FileChunk> findByUploadSessionId(UUID sessionId) {
+        return redisTemplate.opsForHash().values(RedisUploadSessionPortAdapter.chunksKey(sessionId))
+                .stream()
+                .map(value -> decode(sessionId, (String) value))
+                .sorted(Comparator.comparing(FileChunk::getChunkNumber))
+                .toList();
+    }
+
+    @Override
+    public List<FileChunk> findCompletedChunksBySessionId(UUID sessionId) {
+        return findByUploadSessionId(sessionId)
+                .stream()
+                .filter(FileChunk::isCompleted)
+                .toList();
+    }
+
+    @Override
+    public void delete(UUID sessionId, int chunkNumber) {
+        redisTemplate.opsForHash().delete(RedisUploadSessionPortAdapter.chunksKey(sessionId), Integer.toString(chunkNumber));
+    }
+
+    @Override
+    public void deleteBySessionId(UUID sessionId) {
+        redisTemplate.delete(RedisUploadSessionPortAdapter.chunksKey(sessionId));
+    }
+
+    private String encode(FileChunk chunk) {
+        // storageLocation goes last because it is the only field that may contain the separator
+        return String.join(FIELD_SEPARATOR,
+                chunk.getId().toString(),
+                Objects.toString(chunk.getFileId(), ""),
+                chunk.getChunkNumber().toString(),
+                chunk.getTotalChunks().toString(),
+                chunk.getChunkSize().toString(),
+                Objects.toString(chunk.getChecksum(), ""),
+                Objects.toString(chunk.getEtag(), ""),
+                chunk.getStatus().name(),
+                Objects.toString(chunk.getUploadedAt(), ""),
+                Objects.toString(chunk.getStorageLocation(), ""));
+    }
+
+    private FileChunk decode(UUID sessionId, String value) {
+        String[] fields = value.split("\\|", FIELD_COUNT);
+        return FileChunk.builder()
+                .id(UUID.fromString(fields[0]))
+                .uploadSessionId(sessionId)
+                .fileId(fields[1].isEmpty() ? null : UUID.fromString(fields[1]))
+                .chunkNumber(Integer.valueOf(fields[2]))
+                .totalChunks(Integer.valueOf(fields[3]))
+                .chunkSize(Long.valueOf(fields[4]))
+                .checksum(fields[5].isEmpty() ? null : fields[5])
+                .etag(fields[6].isEmpty() ? null : fields[6])
+                .status(FileChunk.ChunkStatus.valueOf(fields[7]))
+                .uploadedAt(fields[8].isEmpty() ? null : LocalDateTime.parse(fields[8]))
+                .storageLocation(fields[9].isEmpty() ? null : fields[9])
+                .build();
+    }
+}
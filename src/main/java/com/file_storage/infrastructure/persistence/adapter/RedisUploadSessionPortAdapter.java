@@ -0,0 +1,160 @@
+package com.file_storage.infrastructure.persistence.adapter;
+
+import com.file_storage.application.port.out.UploadSessionPort;
+import com.file_storage.domain.model.UploadSession;
+import com.file_storage.infrastructure.config.UploadConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps upload sessions in Redis hashes. Each hash expires a retention window after the
+ * session's expiresAt, so expired sessions stay visible long enough to be cleaned up.
+ */
+@Component
+@ConditionalOnProperty(prefix = "upload", name = "session-store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisUploadSessionPortAdapter implements UploadSessionPort {
+
+    static final String EXPIRY_INDEX_KEY = "upload:store:sessions:expiry";
+
+    private final StringRedisTemplate redisTemplate;
+    private final UploadConfig uploadConfig;
+
+    static String sessionKey(UUID sessionId) {
+        return "upload:store:{" + sessionId + "}:session";
+    }
+
+    static String chunksKey(UUID sessionId) {
+        return "upload:store:{" + sessionId + "}:chunks";
+    }
+
+    @Override
+    public UploadSession save(UploadSession session) {
+        String key = sessionKey(session.getId());
+        redisTemplate.opsForHash().putAll(key, toHash(session));
+        redisTemplate.expireAt(key, toInstant(session.getExpiresAt().plus(uploadConfig.getSessionRetention())));
+
+        if (isTerminal(session.getStatus())) {
+            redisTemplate.opsForZSet().remove(EXPIRY_INDEX_KEY, session.getId().toString());
+        } else {
+            redisTemplate.opsForZSet().add(EXPIRY_INDEX_KEY, session.getId().toString(),
+                    toInstant(session.getExpiresAt()).toEpochMilli());
+        }
+        return session;
+    }
+
+    @Override
+    public Optional<UploadSession> findById(UUID sessionId) {
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(sessionKey(sessionId));
+        if (hash.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(fromHash(hash));
+    }
+
+    @Override
+    public Optional<UploadSession> findByIdAndUserId(UUID sessionId, UUID userId) {
+        return findById(sessionId).filter(session -> userId.equals(session.getUserId()));
+    }
+
+    @Override
+    public List<UploadSession> findExpiredSessions(LocalDateTime now, int limit) {
+        Set<String> expired = redisTemplate.opsForZSet()
+                .rangeByScore(EXPIRY_INDEX_KEY, 0, toInstant(now).toEpochMilli(), 0, limit);
+        if (expired == null) {
+            return List.of();
+        }
+
+        List<UploadSession> sessions = new ArrayList<>();
+        for (String sessionId : expired) {
+            findById(UUID.fromString(sessionId)).ifPresentOrElse(
+                    sessions::add,
+                    () -> redisTemplate.opsForZSet().remove(EXPIRY_INDEX_KEY, sessionId));
+        }
+        return sessions;
+    }
+
+    @Override
+    public void delete(UUID sessionId) {
+        redisTemplate.delete(Set.of(sessionKey(sessionId), chunksKey(sessionId)));
+        redisTemplate.opsForZSet().remove(EXPIRY_INDEX_KEY, sessionId.toString());
+    }
+
+    @Override
+    public void deleteExpiredSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(uploadConfig.getSessionRetention());
+        Set<String> expired = redisTemplate.opsForZSet()
+                .rangeByScore(EXPIRY_INDEX_KEY, 0, toInstant(cutoff).toEpochMilli());
+        if (expired == null) {
+            return;
+        }
+        expired.forEach(sessionId -> delete(UUID.fromString(sessionId)));
+    }
+
+    private boolean isTerminal(UploadSession.SessionStatus status) {
+        return status == UploadSession.SessionStatus.COMPLETED
+                || status == UploadSession.SessionStatus.FAILED
+                || status == UploadSession.SessionStatus.EXPIRED;
+    }
+
+    private Map<String, String> toHash(UploadSession session) {
+        Map<String, String> hash = new HashMap<>();
+        hash.put("id", session.getId().toString());
+        hash.put("userId", session.getUserId().toString());
+        if (session.getFolderId() != null) {
+            hash.put("folderId", session.getFolderId().toString());
+        }
+        hash.put("fileName", session.getFileName());
+        hash.put("totalSize", session.getTotalSize().toString());
+        hash.put("totalChunks", session.getTotalChunks().toString());
+        hash.put("contentType", session.getContentType());
+        hash.put("storageLocation", session.getStorageLocation());
+        hash.put("multipartUploadId", session.getMultipartUploadId());
+        hash.put("uploadOffset", Long.toString(session.getUploadOffset()));
+        hash.put("status", session.getStatus().name());
+        hash.put("createdAt", session.getCreatedAt().toString());
+        hash.put("expiresAt", session.getExpiresAt().toString());
+        if (session.getCompletedAt() != null) {
+            hash.put("completedAt", session.getCompletedAt().toString());
+        }
+        return hash;
+    }
+
+    private UploadSession fromHash(Map<Object, Object> hash) {
+        return UploadSession.builder()
+                .id(UUID.fromString((String) hash.get("id")))
+                .userId(UUID.fromString((String) hash.get("userId")))
+                .folderId(hash.containsKey("folderId") ? UUID.fromString((String) hash.get("folderId")) : null)
+                .fileName((String) hash.get("fileName"))
+                .totalSize(Long.valueOf((String) hash.get("totalSize")))
+                .totalChunks(Integer.valueOf((String) hash.get("totalChunks")))
+                .uploadedChunks(0)
+                .contentType((String) hash.get("contentType"))
+                .storageLocation((String) hash.get("storageLocation"))
+                .multipartUploadId((String) hash.get("multipartUploadId"))
+                .uploadOffset(hash.containsKey("uploadOffset") ? Long.parseLong((String) hash.get("uploadOffset")) : 0)
+                .status(UploadSession.SessionStatus.valueOf((String) hash.get("status")))
+                .createdAt(LocalDateTime.parse((String) hash.get("createdAt")))
+                .expiresAt(LocalDateTime.parse((String) hash.get("expiresAt")))
+                .completedAt(hash.containsKey("completedAt")
+                        ? LocalDateTime.parse((String) hash.get("completedAt")) : null)
+                .build();
+    }
+
+    private Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,72 @@
+package com.file_storage.infrastructure.persistence.adapter;
+
+import com.file_storage.application.port.out.UploadSessionPort;
+import com.file_storage.domain.model.UploadSession;
+import com.file_storage.infrastructure.config.UploadConfig;
+import com.file_storage.infrastructure.mapper.UploadSessionMapper;
+import com.file_storage.infrastructure.persistence.entity.upload.UploadSessionEntity;
+import com.file_storage.infrastructure.persistence.repository.FileChunkRepository;
+import com.file_storage.infrastructure.persistence.repository.UploadSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(prefix = "upload", name = "session-store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class UploadSessionPortAdapter implements UploadSessionPort {
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FileChunkRepository fileChunkRepository;
+    private final UploadSessionMapper uploadSessionMapper;
+    private final UploadConfig uploadConfig;
+
+    @Override
+    public UploadSession save(UploadSession session) {
+        UploadSessionEntity entity = uploadSessionRepository.findById(session.getId())
+                .map(existing -> uploadSessionMapper.updateEntity(session, existing))
+                .orElseGet(() -> uploadSessionMapper.toEntity(session));
+        return uploadSessionMapper.toDomain(uploadSessionRepository.save(entity));
+    }
+
+    @Override
+    public Optional<UploadSession> findById(UUID sessionId) {
+        return uploadSessionRepository.findById(sessionId).map(uploadSessionMapper::toDomain);
+    }
+
+    @Override
+    public Optional<UploadSession> findByIdAndUserId(UUID sessionId, UUID userId) {
+        return uploadSessionRepository.findByIdAndUserId(sessionId, userId).map(uploadSessionMapper::toDomain);
+    }
+
+    @Override
+    public List<UploadSession> findExpiredSessions(LocalDateTime now, int limit) {
+        return uploadSessionRepository.findExpired(now, PageRequest.of(0, limit))
+                .stream()
+                .map(uploadSessionMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void delete(UUID sessionId) {
+        fileChunkRepository.deleteByUploadSessionId(sessionId);
+        uploadSessionRepository.deleteById(sessionId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteExpiredSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(uploadConfig.getSessionRetention());
+        fileChunkRepository.deleteForExpiredSessions(cutoff);
+        uploadSessionRepository.deleteExpired(cutoff);
+    }
+}
@@ -0,0 +1,33 @@
+package com.file_storage.infrastructure.persistence.entity.blob;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobEntity {
+    @Id
+    @Column(length = 64)
+    private String checksum;
+
+    @Column(name = "storage_location", nullable = false, length = 1000)
+    private String storageLocation;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
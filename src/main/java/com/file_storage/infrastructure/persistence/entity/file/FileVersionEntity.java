@@ -0,0 +1,51 @@
+package com.file_storage.infrastructure.persistence.entity.file;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "file_versions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"file_id", "version_number"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileVersionEntity {
+    @Id
+    private UUID id;
+
+    @Column(name = "file_id", nullable = false)
+    private UUID fileId;
+
+    @Column(name = "version_number", nullable = false)
+    private Integer versionNumber;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "storage_location", nullable = false, length = 1000)
+    private String storageLocation;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(length = 500)
+    private String comment;
+
+    @Column(name = "is_current", nullable = false)
+    private boolean current;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+}
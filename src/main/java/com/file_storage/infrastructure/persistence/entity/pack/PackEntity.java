@@ -0,0 +1,30 @@
+package com.file_storage.infrastructure.persistence.entity.pack;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "packs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackEntity {
+    @Id
+    @Column(length = 1000)
+    private String location;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "retired_at")
+    private LocalDateTime retiredAt;
+}
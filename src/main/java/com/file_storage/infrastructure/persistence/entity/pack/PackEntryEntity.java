@@ -0,0 +1,52 @@
+package com.file_storage.infrastructure.persistence.entity.pack;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "pack_entries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackEntryEntity {
+    @Id
+    private UUID id;
+
+    @Column(name = "pack_location", length = 1000)
+    private String packLocation;
+
+    @Column(name = "pack_offset")
+    private Long packOffset;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "staging_location", length = 1000)
+    private String stagingLocation;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private EntryStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "packed_at")
+    private LocalDateTime packedAt;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    public enum EntryStatus {
+        STAGED,
+        PACKED,
+        DELETED
+    }
+}
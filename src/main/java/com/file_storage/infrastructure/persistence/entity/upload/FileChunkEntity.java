@@ -0,0 +1,62 @@
+package com.file_storage.infrastructure.persistence.entity.upload;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "file_chunks",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"upload_session_id", "chunk_number"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileChunkEntity {
+    @Id
+    private UUID id;
+
+    @Column(name = "upload_session_id", nullable = false)
+    private UUID uploadSessionId;
+
+    @Column(name = "file_id")
+    private UUID fileId;
+
+    @Column(name = "chunk_number", nullable = false)
+    private Integer chunkNumber;
+
+    @Column(name = "total_chunks", nullable = false)
+    private Integer totalChunks;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Long chunkSize;
+
+    @Column(length = 64)
+    private String checksum;
+
+    @Column(length = 100)
+    private String etag;
+
+    @Column(name = "storage_location", length = 1000)
+    private String storageLocation;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ChunkStatus status;
+
+    @Column(name = "uploaded_at")
+    private LocalDateTime uploadedAt;
+
+    public enum ChunkStatus {
+        PENDING,
+        UPLOADING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,44 @@
+package com.file_storage.infrastructure.persistence.repository;
+
+import com.file_storage.infrastructure.persistence.entity.blob.BlobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface BlobRepository extends JpaRepository<BlobEntity, String> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BlobEntity b SET b.refCount = b.refCount + 1 WHERE b.checksum = :checksum")
+    int incrementRefCount(@Param("checksum") String checksum);
+
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO blobs (checksum, storage_location, size, ref_count, created_at)
+            VALUES (:checksum, :storageLocation, :size, 1, CURRENT_TIMESTAMP)
+            ON CONFLICT (checksum) DO UPDATE SET ref_count = blobs.ref_count + 1
+            RETURNING storage_location
+            """)
+    String upsert(@Param("checksum") String checksum,
+                  @Param("storageLocation") String storageLocation,
+                  @Param("size") long size);
+
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE blobs SET ref_count = ref_count - 1
+            WHERE checksum = :checksum AND ref_count > 0
+            RETURNING ref_count
+            """)
+    Optional<Long> decrementRefCount(@Param("checksum") String checksum);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BlobEntity b WHERE b.checksum = :checksum AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("checksum") String checksum);
+}
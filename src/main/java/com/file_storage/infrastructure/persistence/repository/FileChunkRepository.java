@@ -0,0 +1,55 @@
+package com.file_storage.infrastructure.persistence.repository;
+
+import com.file_storage.infrastructure.persistence.entity.upload.FileChunkEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface FileChunkRepository extends JpaRepository<FileChunkEntity, UUID> {
+    List<FileChunkEntity> findByUploadSessionIdOrderByChunkNumber(UUID uploadSessionId);
+
+    List<FileChunkEntity> findByUploadSessionIdAndStatusOrderByChunkNumber(
+            UUID uploadSessionId, FileChunkEntity.ChunkStatus status);
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO file_chunks (id, upload_session_id, chunk_number, total_chunks, chunk_size,
+                                     checksum, etag, storage_location, status, uploaded_at)
+            VALUES (:#{#chunk.id}, :#{#chunk.uploadSessionId}, :#{#chunk.chunkNumber}, :#{#chunk.totalChunks},
+                    :#{#chunk.chunkSize}, :#{#chunk.checksum}, :#{#chunk.etag}, :#{#chunk.storageLocation},
+                    :#{#chunk.status.name()}, :#{#chunk.uploadedAt})
+            ON CONFLICT (upload_session_id, chunk_number) DO UPDATE SET
+                chunk_size = EXCLUDED.chunk_size,
+                checksum = EXCLUDED.checksum,
+                etag = EXCLUDED.etag,
+                storage_location = EXCLUDED.storage_location,
+                status = EXCLUDED.status,
+                uploaded_at = EXCLUDED.uploaded_at
+            """)
+    void upsert(@Param("chunk") FileChunkEntity chunk);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FileChunkEntity c WHERE c.uploadSessionId = :sessionId AND c.chunkNumber = :chunkNumber")
+    void deleteChunk(@Param("sessionId") UUID sessionId, @Param("chunkNumber") int chunkNumber);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FileChunkEntity c WHERE c.uploadSessionId = :sessionId")
+    void deleteByUploadSessionId(@Param("sessionId") UUID sessionId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FileChunkEntity c WHERE c.uploadSessionId IN " +
+            "(SELECT s.id FROM UploadSessionEntity s WHERE s.expiresAt < :now)")
+    int deleteForExpiredSessions(@Param("now") LocalDateTime now);
+}
@@ -29,4 +29,9 @@ public interface FileRepository extends JpaRepository<FileMetaDataEntity, UUID>
     List<FileMetaDataEntity> searchByName(@Param("ownerId") UUID ownerId, @Param("name") String name);
     
     Optional<FileMetaDataEntity> findByIdAndOwnerId(UUID id, UUID ownerId);
+
+    List<FileMetaDataEntity> findByIdInAndOwnerId(List<UUID> ids, UUID ownerId);
+
+    Optional<FileMetaDataEntity> findFirstByOwnerIdAndChecksumAndStatus(
+            UUID ownerId, String checksum, FileMetaDataEntity.FileStatus status);
 }
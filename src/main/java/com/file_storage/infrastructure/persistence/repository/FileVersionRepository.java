@@ -0,0 +1,25 @@
+package com.file_storage.infrastructure.persistence.repository;
+
+import com.file_storage.infrastructure.persistence.entity.file.FileVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FileVersionRepository extends JpaRepository<FileVersionEntity, UUID> {
+    List<FileVersionEntity> findByFileIdOrderByVersionNumberDesc(UUID fileId);
+
+    Optional<FileVersionEntity> findFirstByFileIdAndCurrentTrue(UUID fileId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE FileVersionEntity v SET v.current = false WHERE v.fileId = :fileId")
+    void markAllAsOld(@Param("fileId") UUID fileId);
+}
@@ -0,0 +1,62 @@
+package com.file_storage.infrastructure.persistence.repository;
+
+import com.file_storage.infrastructure.persistence.entity.pack.PackEntryEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PackEntryRepository extends JpaRepository<PackEntryEntity, UUID> {
+
+    @Query("SELECT e FROM PackEntryEntity e WHERE e.status = 'STAGED' ORDER BY e.createdAt")
+    List<PackEntryEntity> findStaged(Pageable pageable);
+
+    @Query("SELECT e FROM PackEntryEntity e WHERE e.status = 'DELETED' AND e.packLocation IS NULL")
+    List<PackEntryEntity> findDeletedUnpacked();
+
+    @Query("SELECT e FROM PackEntryEntity e WHERE e.packLocation IS NOT NULL AND e.stagingLocation IS NOT NULL " +
+            "AND e.packedAt < :cutoff")
+    List<PackEntryEntity> findPackedWithStaging(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT e FROM PackEntryEntity e WHERE e.packLocation = :packLocation AND e.status = 'PACKED' " +
+            "ORDER BY e.packOffset")
+    List<PackEntryEntity> findLiveInPack(@Param("packLocation") String packLocation);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PackEntryEntity e SET e.status = 'DELETED', e.deletedAt = :now " +
+            "WHERE e.id = :id AND e.status <> 'DELETED'")
+    int markDeleted(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PackEntryEntity e SET e.packLocation = :packLocation, e.packOffset = :packOffset, " +
+            "e.status = 'PACKED', e.packedAt = :now WHERE e.id = :id AND e.status = 'STAGED'")
+    int markPacked(@Param("id") UUID id, @Param("packLocation") String packLocation,
+                   @Param("packOffset") long packOffset, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PackEntryEntity e SET e.packLocation = :packLocation, e.packOffset = :packOffset " +
+            "WHERE e.id = :id AND e.status = 'PACKED'")
+    int relocate(@Param("id") UUID id, @Param("packLocation") String packLocation,
+                 @Param("packOffset") long packOffset);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PackEntryEntity e SET e.stagingLocation = NULL WHERE e.id IN :ids")
+    void clearStaging(@Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PackEntryEntity e WHERE e.packLocation = :packLocation AND e.status = 'DELETED'")
+    void deleteDeletedInPack(@Param("packLocation") String packLocation);
+}
@@ -0,0 +1,29 @@
+package com.file_storage.infrastructure.persistence.repository;
+
+import com.file_storage.infrastructure.persistence.entity.pack.PackEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PackRepository extends JpaRepository<PackEntity, String> {
+
+    List<PackEntity> findByRetiredAtBefore(LocalDateTime cutoff);
+
+    @Query("SELECT p FROM PackEntity p WHERE p.retiredAt IS NULL AND p.createdAt < :createdBefore " +
+            "AND (SELECT COALESCE(SUM(e.size), 0) FROM PackEntryEntity e " +
+            "     WHERE e.packLocation = p.location AND e.status = 'PACKED') < p.size * :liveRatio")
+    List<PackEntity> findSparse(@Param("liveRatio") double liveRatio,
+                                @Param("createdBefore") LocalDateTime createdBefore);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PackEntity p SET p.retiredAt = :now WHERE p.location = :location")
+    void retire(@Param("location") String location, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,30 @@
+package com.file_storage.infrastructure.scheduling;
+
+import com.file_storage.infrastructure.storage.LocalCacheStorageAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes files evicted from this node's disk cache once nothing can still be sending them.
+ * The cache is local to each instance, so every instance runs this without a lock.
+ */
+@Component
+@ConditionalOnProperty(prefix = "storage.local-cache", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class LocalCacheCleanupJob {
+
+    private final LocalCacheStorageAdapter localCacheStorageAdapter;
+
+    @Scheduled(fixedDelayString = "${storage.local-cache.cleanup-interval:PT1M}")
+    public void run() {
+        try {
+            localCacheStorageAdapter.deleteEvicted();
+        } catch (Exception e) {
+            log.error("Local cache cleanup failed", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.file_storage.infrastructure.scheduling;
+
+import com.file_storage.application.port.out.LockPort;
+import com.file_storage.infrastructure.config.StorageConfig;
+import com.file_storage.infrastructure.storage.PackedStorageAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Packs staged small files and compacts sparse packs. Only the instance holding the packer
+ * lock does the work, so a pack is never written twice by competing replicas.
+ */
+@Component
+@ConditionalOnProperty(prefix = "storage.packing", name = "enabled", havingValue = "true")
+@Slf4j
+public class PackMaintenanceJob {
+
+    private static final String LOCK_NAME = "storage:packer";
+
+    private final PackedStorageAdapter packedStorageAdapter;
+    private final LockPort lockPort;
+    private final StorageConfig storageConfig;
+    private final Counter packedCounter;
+    private final Counter reclaimedCounter;
+
+    public PackMaintenanceJob(PackedStorageAdapter packedStorageAdapter,
+                              LockPort lockPort,
+                              StorageConfig storageConfig,
+                              MeterRegistry meterRegistry) {
+        this.packedStorageAdapter = packedStorageAdapter;
+        this.lockPort = lockPort;
+        this.storageConfig = storageConfig;
+        this.packedCounter = Counter.builder("storage.packing.files")
+                .description("Small files written into packs")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        this.reclaimedCounter = Counter.builder("storage.packing.bytes.reclaimed")
+                .description("Bytes reclaimed by pack compaction")
+                .baseUnit("bytes")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${storage.packing.interval:PT1M}")
+    public void run() {
+        Optional<String> token = lockPort.tryAcquire(LOCK_NAME, storageConfig.getPacking().getLockTtl());
+        if (token.isEmpty()) {
+            log.debug("Packer lock held by another instance, skipping run");
+            return;
+        }
+
+        try {
+            packedCounter.increment(packedStorageAdapter.packStaged());
+            reclaimedCounter.increment(packedStorageAdapter.compact());
+        } catch (Exception e) {
+            log.error("Pack maintenance run failed", e);
+        } finally {
+            lockPort.release(LOCK_NAME, token.get());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.file_storage.infrastructure.scheduling;
+
+import com.file_storage.application.port.in.ReapExpiredUploadsUseCase;
+import com.file_storage.application.port.out.LockPort;
+import com.file_storage.domain.model.UploadReapResult;
+import com.file_storage.infrastructure.config.UploadConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Periodically aborts expired upload sessions. Only the instance holding the reaper lock
+ * does the work, so running several replicas does not multiply storage calls.
+ */
+@Component
+@Slf4j
+public class UploadSessionReaper {
+
+    private static final String LOCK_NAME = "upload:reaper";
+
+    private final ReapExpiredUploadsUseCase reapExpiredUploadsUseCase;
+    private final LockPort lockPort;
+    private final UploadConfig uploadConfig;
+    private final Timer reapTimer;
+    private final Counter sessionsCounter;
+    private final Counter bytesCounter;
+
+    public UploadSessionReaper(ReapExpiredUploadsUseCase reapExpiredUploadsUseCase,
+                               LockPort lockPort,
+                               UploadConfig uploadConfig,
+                               MeterRegistry meterRegistry) {
+        this.reapExpiredUploadsUseCase = reapExpiredUploadsUseCase;
+        this.lockPort = lockPort;
+        this.uploadConfig = uploadConfig;
+        this.reapTimer = Timer.builder("upload.reaper.duration")
+                .description("Time taken to reap expired upload sessions")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        this.sessionsCounter = Counter.builder("upload.reaper.sessions")
+                .description("Expired upload sessions reaped")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        this.bytesCounter = Counter.builder("upload.reaper.bytes.reclaimed")
+                .description("Bytes of abandoned upload parts reclaimed")
+                .baseUnit("bytes")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${upload.reaper.interval:PT5M}")
+    public void reap() {
+        UploadConfig.Reaper config = uploadConfig.getReaper();
+        Optional<String> token = lockPort.tryAcquire(LOCK_NAME, config.getLockTtl());
+        if (token.isEmpty()) {
+            log.debug("Upload reaper lock held by another instance, skipping run");
+            return;
+        }
+
+        try {
+            UploadReapResult result = reapTimer.record(
+                    () -> reapExpiredUploadsUseCase.reapExpiredUploads(config.getBatchSize()));
+            sessionsCounter.increment(result.getSessionsReaped());
+            bytesCounter.increment(result.getBytesReclaimed());
+            if (result.getSessionsReaped() > 0) {
+                log.info("Reaped {} expired upload sessions, deleted {} objects, reclaimed {} bytes",
+                        result.getSessionsReaped(), result.getObjectsDeleted(), result.getBytesReclaimed());
+            }
+        } catch (Exception e) {
+            log.error("Upload reaper run failed", e);
+        } finally {
+            lockPort.release(LOCK_NAME, token.get());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.file_storage.infrastructure.storage;
+
+import com.file_storage.application.port.out.BlobPort;
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.infrastructure.config.StorageConfig;
+import com.file_storage.infrastructure.storage.chunking.FastCdcChunker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Stores files as content-defined chunks shared across all files. Each chunk lives once at
+ * {@code chunks/<sha256>} and is reference-counted through {@link BlobPort}; a file is a
+ * manifest object listing its chunks in order. Chunk hashes share the blob table with
+ * whole-file checksums, which is safe because both are keyed by the SHA-256 of the bytes
+ * at the stored location.
+ * <p>
+ * Every reference change commits in its own short transaction, so an upload never holds
+ * blob row locks while it streams and uploads sharing chunks cannot deadlock. References
+ * taken by an upload that fails are released again by the adapter.
+ * <p>
+ * Locations that are not manifests are plain objects and are passed through unchanged.
+ */
+@Slf4j
+public class ContentDefinedStorageAdapter implements FileStoragePort {
+
+    private static final String MANIFEST_PREFIX = "manifests/";
+    private static final String CHUNK_PREFIX = "chunks/";
+    private static final String MANIFEST_HEADER = "fastcdc-manifest v1";
+
+    private final MinioStorageAdapter objectStore;
+    private final BlobPort blobPort;
+    private final StorageConfig.Cdc config;
+    private final TransactionTemplate refTransaction;
+
+    public ContentDefinedStorageAdapter(MinioStorageAdapter objectStore, BlobPort blobPort, StorageConfig.Cdc config,
+                                        PlatformTransactionManager transactionManager) {
+        this.objectStore = objectStore;
+        this.blobPort = blobPort;
+        this.config = config;
+        this.refTransaction = new TransactionTemplate(transactionManager);
+        this.refTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, String fileName, String contentType, long size, String userId) {
+        List<ChunkRef> chunks = new ArrayList<>();
+        long total = 0;
+        long written = 0;
+        try {
+            FastCdcChunker chunker = new FastCdcChunker(
+                    inputStream, config.getMinSize(), config.getAvgSize(), config.getMaxSize());
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] chunk;
+            while ((chunk = chunker.nextChunk()) != null) {
+                String hash = HexFormat.of().formatHex(digest.digest(chunk));
+                if (refTransaction.execute(status -> blobPort.acquire(hash)).isEmpty()) {
+                    objectStore.putObject(chunkLocation(hash), new ByteArrayInputStream(chunk), chunk.length,
+                            "application/octet-stream");
+                    int length = chunk.length;
+                    refTransaction.execute(status -> blobPort.register(hash, chunkLocation(hash), length));
+                    written += chunk.length;
+                }
+                chunks.add(new ChunkRef(hash, chunk.length));
+                total += chunk.length;
+            }
+        } catch (Exception e) {
+            releaseChunks(chunks);
+            log.error("Error chunking file {}", fileName, e);
+            throw new RuntimeException("Failed to upload file", e);
+        }
+
+        if (size >= 0 && total != size) {
+            releaseChunks(chunks);
+            throw new RuntimeException("Uploaded size " + total + " does not match declared size " + size);
+        }
+
+        String manifestLocation = MANIFEST_PREFIX + userId + "/" + UUID.randomUUID();
+        byte[] manifest = writeManifest(chunks, total);
+        try {
+            objectStore.putObject(manifestLocation, new ByteArrayInputStream(manifest), manifest.length, "text/plain");
+        } catch (RuntimeException e) {
+            releaseChunks(chunks);
+            throw e;
+        }
+
+        log.info("File uploaded as {} chunks ({} of {} bytes new): {}", chunks.size(), written, total, manifestLocation);
+        return manifestLocation;
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation) {
+        if (!isManifest(storageLocation)) {
+            return objectStore.downloadFile(storageLocation);
+        }
+
+        List<Supplier<InputStream>> chunks = new ArrayList<>();
+        for (ChunkRef chunk : readManifest(storageLocation)) {
+            chunks.add(() -> objectStore.downloadFile(chunkLocation(chunk.hash())));
+        }
+        return StorageStreams.concat(chunks);
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation, long offset, long length) {
+        if (!isManifest(storageLocation)) {
+            return objectStore.downloadFile(storageLocation, offset, length);
+        }
+
+        long end = offset + length;
+        List<Supplier<InputStream>> ranges = new ArrayList<>();
+        long chunkStart = 0;
+        for (ChunkRef chunk : readManifest(storageLocation)) {
+            long chunkEnd = chunkStart + chunk.size();
+            if (chunkEnd > offset && chunkStart < end) {
+                long from = Math.max(offset, chunkStart);
+                long to = Math.min(end, chunkEnd);
+                String location = chunkLocation(chunk.hash());
+                long rangeOffset = from - chunkStart;
+                long rangeLength = to - from;
+                ranges.add(() -> objectStore.downloadFile(location, rangeOffset, rangeLength));
+            }
+            chunkStart = chunkEnd;
+        }
+        return StorageStreams.concat(ranges);
+    }
+
+    @Override
+    public void deleteFile(String storageLocation) {
+        if (!isManifest(storageLocation)) {
+            objectStore.deleteFile(storageLocation);
+            return;
+        }
+
+        releaseChunks(readManifest(storageLocation));
+        objectStore.deleteFile(storageLocation);
+    }
+
+    @Override
+    public void deleteFiles(List<String> storageLocations) {
+        List<String> objects = new ArrayList<>();
+        for (String location : storageLocations) {
+            if (isManifest(location)) {
+                deleteFile(location);
+            } else {
+                objects.add(location);
+            }
+        }
+        if (!objects.isEmpty()) {
+            objectStore.deleteFiles(objects);
+        }
+    }
+
+    @Override
+    public long objectSize(String storageLocation) {
+        if (!isManifest(storageLocation)) {
+            return objectStore.objectSize(storageLocation);
+        }
+        return readManifest(storageLocation).stream().mapToLong(ChunkRef::size).sum();
+    }
+
+    @Override
+    public String getPresignedUrl(String storageLocation, int expirationSeconds) {
+        if (isManifest(storageLocation)) {
+            throw new RuntimeException("Chunked files cannot be served through a presigned URL");
+        }
+        return objectStore.getPresignedUrl(storageLocation, expirationSeconds);
+    }
+
+    @Override
+    public boolean isDirectlyAddressable(String storageLocation) {
+        return !isManifest(storageLocation);
+    }
+
+    /**
+     * Chunk objects live at fixed keys, so an unreferenced chunk is deleted inside the
+     * transaction that removed its row. Until that commits, the row lock holds back a
+     * concurrent upload's acquire, which would otherwise miss the row, re-upload the chunk
+     * and then lose it to this delete. A failed delete rolls the release back, leaving the
+     * chunk referenced rather than missing.
+     */
+    private void releaseChunks(List<ChunkRef> chunks) {
+        for (ChunkRef chunk : chunks) {
+            try {
+                refTransaction.executeWithoutResult(status -> blobPort.release(chunk.hash())
+                        .ifPresent(blob -> objectStore.deleteFile(blob.getStorageLocation())));
+            } catch (RuntimeException e) {
+                log.warn("Failed to release chunk {}", chunk.hash(), e);
+            }
+        }
+    }
+
+    private byte[] writeManifest(List<ChunkRef> chunks, long totalSize) {
+        StringBuilder manifest = new StringBuilder(MANIFEST_HEADER).append(' ').append(totalSize).append('\n');
+        for (ChunkRef chunk : chunks) {
+            manifest.append(chunk.hash()).append(' ').append(chunk.size()).append('\n');
+        }
+        return manifest.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<ChunkRef> readManifest(String storageLocation) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(objectStore.downloadFile(storageLocation), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(MANIFEST_HEADER)) {
+                throw new RuntimeException("Invalid chunk manifest: " + storageLocation);
+            }
+            List<ChunkRef> chunks = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                String[] parts = line.split(" ");
+                chunks.add(new ChunkRef(parts[0], Integer.parseInt(parts[1])));
+            }
+            return chunks;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error reading chunk manifest {}", storageLocation, e);
+            throw new RuntimeException("Failed to read chunk manifest", e);
+        }
+    }
+
+    private static boolean isManifest(String storageLocation) {
+        return storageLocation.startsWith(MANIFEST_PREFIX);
+    }
+
+    private static String chunkLocation(String hash) {
+        return CHUNK_PREFIX + hash;
+    }
+
+    private record ChunkRef(String hash, int size) {
+    }
+}
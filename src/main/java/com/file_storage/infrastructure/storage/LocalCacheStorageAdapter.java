@@ -0,0 +1,507 @@
+package com.file_storage.infrastructure.storage;
+
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.infrastructure.config.StorageConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps whole copies of recently read objects on local disk, evicting the least recently used
+ * once {@code maxSize} is exceeded. Stored locations are never overwritten with different
+ * bytes, so cached copies only go away on eviction or delete.
+ * <p>
+ * A miss fetches the object once into the cache directory no matter how many callers ask for
+ * it at the same time; every caller streams from that single fetch as it progresses. Space for
+ * a fetch is reserved against {@code maxSize} before it starts, so fetches in progress count
+ * towards the bound. Objects above {@code maxObjectSize}, of unknown size, or that do not fit
+ * even after eviction are read from the delegate without caching; concurrent reads of those are
+ * still shared by {@link SingleFlightStorageAdapter} underneath. Ranged reads are passed through.
+ */
+@Slf4j
+public class LocalCacheStorageAdapter implements FileStoragePort {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int FILL_BUFFER_SIZE = 64 * 1024;
+
+    private final FileStoragePort delegate;
+    private final StorageConfig.LocalCache config;
+    private final Path directory;
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<PendingDelete> pendingDeletes = new ArrayDeque<>();
+    private long cachedBytes;
+    private long reservedBytes;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Counter coalescedCounter;
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public LocalCacheStorageAdapter(FileStoragePort delegate, StorageConfig.LocalCache config,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.config = config;
+        this.directory = Path.of(config.getDirectory());
+        this.hitCounter = Counter.builder("storage.cache.hits")
+                .description("Downloads served from the local disk cache")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("storage.cache.misses")
+                .description("Downloads fetched from object storage")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("storage.cache.evictions")
+                .description("Objects evicted from the local disk cache")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("storage.cache.coalesced")
+                .description("Downloads that joined a fetch already in progress")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        Gauge.builder("storage.cache.size", this, cache -> cache.cachedBytes())
+                .description("Bytes held in the local disk cache")
+                .baseUnit("bytes")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        loadIndex();
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, String fileName, String contentType, long size, String userId) {
+        return delegate.uploadFile(inputStream, fileName, contentType, size, userId);
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation) {
+        String key = key(storageLocation);
+        if (contains(key)) {
+            try {
+                InputStream cached = Files.newInputStream(path(key));
+                hitCounter.increment();
+                return cached;
+            } catch (IOException e) {
+                evict(key);
+            }
+        }
+
+        while (true) {
+            Flight flight = inFlight.get(key);
+            if (flight != null) {
+                InputStream reader = flight.newReader();
+                if (reader != null) {
+                    coalescedCounter.increment();
+                    return reader;
+                }
+                // Finished between lookups; the object is cached now or a new flight is needed.
+                if (contains(key)) {
+                    return downloadFile(storageLocation);
+                }
+                inFlight.remove(key, flight);
+                continue;
+            }
+
+            long size = delegate.objectSize(storageLocation);
+            if (!reserve(size)) {
+                missCounter.increment();
+                return delegate.downloadFile(storageLocation);
+            }
+            try {
+                flight = new Flight(key, size);
+            } catch (IOException e) {
+                unreserve(size);
+                log.warn("Local cache unavailable, serving {} uncached", storageLocation, e);
+                missCounter.increment();
+                return delegate.downloadFile(storageLocation);
+            }
+            if (inFlight.putIfAbsent(key, flight) != null) {
+                flight.fail(new IOException("Lost the race to fetch " + storageLocation));
+                continue;
+            }
+
+            missCounter.increment();
+            FlightInputStream reader = flight.newReader();
+            try {
+                flight.start(delegate.downloadFile(storageLocation));
+            } catch (RuntimeException e) {
+                reader.close();
+                flight.fail(new IOException(e));
+                throw e;
+            }
+            return reader;
+        }
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation, long offset, long length) {
+        return delegate.downloadFile(storageLocation, offset, length);
+    }
+
+    @Override
+    public void deleteFile(String storageLocation) {
+        evict(key(storageLocation));
+        delegate.deleteFile(storageLocation);
+    }
+
+    @Override
+    public void deleteFiles(List<String> storageLocations) {
+        storageLocations.forEach(location -> evict(key(location)));
+        delegate.deleteFiles(storageLocations);
+    }
+
+    @Override
+    public String getPresignedUrl(String storageLocation, int expirationSeconds) {
+        return delegate.getPresignedUrl(storageLocation, expirationSeconds);
+    }
+
+    @Override
+    public boolean isDirectlyAddressable(String storageLocation) {
+        return delegate.isDirectlyAddressable(storageLocation);
+    }
+
+    @Override
+    public Optional<Path> findLocalCopy(String storageLocation) {
+        String key = key(storageLocation);
+        if (!contains(key)) {
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(path(key));
+    }
+
+    /**
+     * Deletes evicted files whose grace period is over. Admits and evictions do this too, but a
+     * cache that stops changing would otherwise keep its evicted files on disk indefinitely.
+     */
+    public synchronized void deleteEvicted() {
+        deletePending();
+    }
+
+    private synchronized boolean contains(String key) {
+        return index.get(key) != null;
+    }
+
+    private synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Reserves room for a fetch of {@code size} bytes, evicting cached objects if needed.
+     * Returns false when the object should not go through the cache at all.
+     */
+    private synchronized boolean reserve(long size) {
+        if (size < 0 || size > config.getMaxObjectSize()) {
+            return false;
+        }
+        evictDownTo(config.getMaxSize() - reservedBytes - size, null);
+        if (cachedBytes + reservedBytes + size > config.getMaxSize()) {
+            return false;
+        }
+        reservedBytes += size;
+        return true;
+    }
+
+    private synchronized void unreserve(long size) {
+        reservedBytes -= size;
+    }
+
+    private synchronized void admit(String key, long size) {
+        Path file = path(key);
+        pendingDeletes.removeIf(pending -> pending.path().equals(file));
+        Long previous = index.put(key, size);
+        cachedBytes += size - (previous != null ? previous : 0);
+        evictDownTo(config.getMaxSize() - reservedBytes, key);
+        deletePending();
+    }
+
+    /**
+     * Evicts least recently used objects, except {@code keep}, until at most {@code limit} bytes are cached.
+     */
+    private void evictDownTo(long limit, String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (cachedBytes > limit && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            eldest.remove();
+            cachedBytes -= entry.getValue();
+            pendingDeletes.add(new PendingDelete(path(entry.getKey()), Instant.now()));
+            evictionCounter.increment();
+        }
+    }
+
+    private synchronized void evict(String key) {
+        Long size = index.remove(key);
+        if (size != null) {
+            cachedBytes -= size;
+            pendingDeletes.add(new PendingDelete(path(key), Instant.now()));
+        }
+        deletePending();
+    }
+
+    private void deletePending() {
+        Instant cutoff = Instant.now().minus(config.getDeleteDelay());
+        while (!pendingDeletes.isEmpty() && pendingDeletes.peek().evictedAt().isBefore(cutoff)) {
+            deleteQuietly(pendingDeletes.poll().path());
+        }
+    }
+
+    /**
+     * Rebuilds the index from a previous run, oldest files first so they are evicted first.
+     */
+    private void loadIndex() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.toList();
+            }
+            files.stream()
+                    .filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .forEach(LocalCacheStorageAdapter::deleteQuietly);
+            files.stream()
+                    .filter(file -> !file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .sorted(Comparator.comparing(LocalCacheStorageAdapter::lastModified))
+                    .forEach(file -> admit(file.getFileName().toString(), file.toFile().length()));
+            log.info("Local cache at {} holds {} objects ({} bytes)", directory, index.size(), cachedBytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize local cache at " + directory, e);
+        }
+    }
+
+    private Path path(String key) {
+        return directory.resolve(key);
+    }
+
+    private static String key(String storageLocation) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(storageLocation.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached file {}", file, e);
+        }
+    }
+
+    private record PendingDelete(Path path, Instant evictedAt) {
+    }
+
+    /**
+     * One fetch from the delegate into a temporary file, shared by every reader that asks for
+     * the object while it is in progress. The fill runs on its own thread at origin speed, so
+     * a slow or cancelled first reader does not hold the others back. Readers tail the file
+     * through positional reads on the flight's channel, which stays open until the fill is
+     * done and the last reader has closed, even after the file is moved into the cache.
+     */
+    private final class Flight {
+        private final String key;
+        private final long size;
+        private final Path tempFile;
+        private final FileChannel channel;
+        private long written;
+        private boolean done;
+        private IOException failure;
+        private int references = 1;
+
+        Flight(String key, long size) throws IOException {
+            this.key = key;
+            this.size = size;
+            this.tempFile = directory.resolve(key + "." + UUID.randomUUID() + TEMP_SUFFIX);
+            this.channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void start(InputStream source) {
+            Thread.ofVirtual().name("cache-fill-" + key).start(() -> fill(source));
+        }
+
+        /**
+         * Returns a reader, or null when the flight has finished and its channel is closed.
+         */
+        synchronized FlightInputStream newReader() {
+            if (!channel.isOpen()) {
+                return null;
+            }
+            references++;
+            return new FlightInputStream(this);
+        }
+
+        synchronized void fail(IOException e) {
+            failure = e;
+            notifyAll();
+            finish(false);
+        }
+
+        private void fill(InputStream source) {
+            byte[] buffer = new byte[FILL_BUFFER_SIZE];
+            try (source) {
+                int n;
+                while ((n = source.read(buffer)) >= 0) {
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, n);
+                    long position = written();
+                    while (chunk.hasRemaining()) {
+                        position += channel.write(chunk, position);
+                    }
+                    if (!advance(n)) {
+                        fail(new IOException("Object " + key + " is larger than its reported size " + size));
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Failed to fetch {} into local cache", key, e);
+                fail(e);
+                return;
+            }
+            synchronized (this) {
+                done = true;
+                notifyAll();
+                finish(true);
+            }
+        }
+
+        private synchronized long written() {
+            return written;
+        }
+
+        /**
+         * Returns false if the source runs past the reserved size, which keeps the disk bound intact.
+         */
+        private synchronized boolean advance(int n) {
+            written += n;
+            notifyAll();
+            return written <= size;
+        }
+
+        /**
+         * Blocks until bytes past {@code position} are available; returns the number written so
+         * far, or -1 at the end of the object.
+         */
+        synchronized long awaitData(long position) throws IOException {
+            while (position >= written && !done && failure == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted waiting for cache fill", e);
+                }
+            }
+            if (failure != null) {
+                throw new IOException("Cache fill failed", failure);
+            }
+            return position < written ? written : -1;
+        }
+
+        private void finish(boolean keep) {
+            inFlight.remove(key, this);
+            unreserve(size);
+            try {
+                if (keep) {
+                    Files.move(tempFile, path(key), StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                    admit(key, written);
+                } else {
+                    deleteQuietly(tempFile);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to store {} in local cache", key, e);
+                deleteQuietly(tempFile);
+            }
+            release();
+        }
+
+        synchronized void release() {
+            if (--references == 0) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close cache fill for {}", key, e);
+                }
+            }
+        }
+    }
+
+    private static final class FlightInputStream extends InputStream {
+        private final Flight flight;
+        private long position;
+        private boolean closed;
+
+        FlightInputStream(Flight flight) {
+            this.flight = flight;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            long available = flight.awaitData(position);
+            if (available < 0) {
+                return -1;
+            }
+            int n = flight.channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available - position)), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                flight.release();
+            }
+        }
+    }
+}
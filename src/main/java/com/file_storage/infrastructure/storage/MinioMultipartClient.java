@@ -0,0 +1,65 @@
+package com.file_storage.infrastructure.storage;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.ListPartsResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.messages.Part;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exposes the low-level S3 multipart calls that {@link io.minio.MinioClient} keeps internal,
+ * so upload sessions can map directly onto CreateMultipartUpload / CompleteMultipartUpload.
+ */
+public class MinioMultipartClient extends MinioAsyncClient {
+
+    private static final int MAX_PARTS_PER_PAGE = 1000;
+
+    public MinioMultipartClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    public String createMultipartUpload(String bucket, String object, String contentType) throws Exception {
+        Multimap<String, String> headers = HashMultimap.create();
+        headers.put("Content-Type", contentType);
+        return createMultipartUploadAsync(bucket, null, object, headers, null)
+                .get()
+                .result()
+                .uploadId();
+    }
+
+    public List<Part> listParts(String bucket, String object, String uploadId) throws Exception {
+        List<Part> parts = new ArrayList<>();
+        Integer marker = null;
+        while (true) {
+            ListPartsResponse response = listPartsAsync(
+                    bucket, null, object, MAX_PARTS_PER_PAGE, marker, uploadId, null, null).get();
+            parts.addAll(response.result().partList());
+            if (!response.result().isTruncated()) {
+                return parts;
+            }
+            marker = response.result().nextPartNumberMarker();
+        }
+    }
+
+    public Optional<Part> findPart(String bucket, String object, String uploadId, int partNumber) throws Exception {
+        ListPartsResponse response = listPartsAsync(
+                bucket, null, object, 1, partNumber - 1, uploadId, null, null).get();
+        return response.result().partList().stream()
+                .filter(part -> part.partNumber() == partNumber)
+                .findFirst();
+    }
+
+    public ObjectWriteResponse completeMultipartUpload(String bucket, String object, String uploadId,
+                                                       Part[] parts) throws Exception {
+        return completeMultipartUploadAsync(bucket, null, object, uploadId, parts, null, null).get();
+    }
+
+    public void abortMultipartUpload(String bucket, String object, String uploadId) throws Exception {
+        abortMultipartUploadAsync(bucket, null, object, uploadId, null, null).get();
+    }
+}
@@ -1,25 +1,60 @@
 package com.file_storage.infrastructure.storage;
 
 import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.application.port.out.MultipartUploadPort;
+import com.file_storage.domain.model.MultipartUpload;
+import com.file_storage.domain.model.StoredObject;
+import com.file_storage.domain.model.UploadedPart;
+import com.file_storage.infrastructure.config.MinioConfig;
 import io.minio.*;
 import io.minio.errors.*;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import io.minio.messages.Part;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
 @Slf4j
-public class MinioStorageAdapter implements FileStoragePort {
-    
+public class MinioStorageAdapter implements FileStoragePort, MultipartUploadPort {
+
+    private static final int PART_URL_EXPIRY_SECONDS = 3600;
+    private static final int DELETE_BATCH_SIZE = 1000;
+    private static final long UNKNOWN_SIZE_PART_SIZE = 10L * 1024 * 1024;
+
     private final MinioClient minioClient;
+    private final MinioMultipartClient multipartClient;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
     private final String bucketName;
+    private final MinioConfig.ParallelDownload parallelDownload;
+    private final ExecutorService rangeExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public MinioStorageAdapter(MinioClient minioClient, com.file_storage.infrastructure.config.MinioConfig minioConfig) {
+    public MinioStorageAdapter(MinioClient minioClient, MinioMultipartClient multipartClient,
+                               MinioConfig minioConfig) {
         this.minioClient = minioClient;
+        this.multipartClient = multipartClient;
         this.bucketName = minioConfig.getBucketName();
+        this.parallelDownload = minioConfig.getParallelDownload();
     }
 
     @PostConstruct
@@ -39,27 +74,45 @@ public class MinioStorageAdapter implements FileStoragePort {
     @Override
     public String uploadFile(InputStream inputStream, String fileName, String contentType, long size, String userId) {
         String objectName = generateObjectName(UUID.fromString(userId), fileName);
-        
+        putObject(objectName, inputStream, size, contentType);
+        log.info("File uploaded successfully: {}", objectName);
+        return objectName;
+    }
+
+    /**
+     * Writes an object under a caller-chosen name, for storage layouts built on top of this adapter.
+     * A negative size streams the object as a multipart upload of unknown length.
+     */
+    public void putObject(String objectName, InputStream inputStream, long size, String contentType) {
         try {
             minioClient.putObject(
                     PutObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectName)
-                            .stream(inputStream, size, -1)
+                            .stream(inputStream, size, size >= 0 ? -1 : UNKNOWN_SIZE_PART_SIZE)
                             .contentType(contentType)
                             .build()
             );
-            log.info("File uploaded successfully: {}", objectName);
-            return objectName;
         } catch (Exception e) {
             log.error("Error uploading file to MinIO", e);
             throw new RuntimeException("Failed to upload file", e);
         }
     }
 
+    /**
+     * Large objects are read as parallel ranged GETs when parallel downloads are enabled, since a
+     * single GET stream is limited well below the available bandwidth.
+     */
     @Override
     public InputStream downloadFile(String objectName) {
         try {
+            if (parallelDownload.isEnabled()) {
+                long size = minioClient.statObject(
+                        StatObjectArgs.builder().bucket(bucketName).object(objectName).build()).size();
+                if (size >= parallelDownload.getThreshold()) {
+                    return parallelRead(objectName, 0, size);
+                }
+            }
             return minioClient.getObject(
                     GetObjectArgs.builder()
                             .bucket(bucketName)
@@ -72,6 +125,45 @@ public class MinioStorageAdapter implements FileStoragePort {
         }
     }
 
+    @Override
+    public InputStream downloadFile(String objectName, long offset, long length) {
+        if (parallelDownload.isEnabled() && length >= parallelDownload.getThreshold()) {
+            return parallelRead(objectName, offset, length);
+        }
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .offset(offset)
+                            .length(length)
+                            .build()
+            );
+        } catch (Exception e) {
+            log.error("Error downloading range of file from MinIO", e);
+            throw new RuntimeException("Failed to download file", e);
+        }
+    }
+
+    private InputStream parallelRead(String objectName, long offset, long length) {
+        return new ParallelRangeInputStream(
+                (rangeOffset, rangeLength) -> readRange(objectName, rangeOffset, rangeLength), rangeExecutor,
+                offset, length, parallelDownload.getRangeSize(), parallelDownload.getConcurrency(),
+                parallelDownload.getWindow());
+    }
+
+    private byte[] readRange(String objectName, long offset, long length) throws Exception {
+        try (InputStream range = minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .offset(offset)
+                        .length(length)
+                        .build())) {
+            return range.readAllBytes();
+        }
+    }
+
     @Override
     public void deleteFile(String objectName) {
         try {
@@ -88,6 +180,43 @@ public class MinioStorageAdapter implements FileStoragePort {
         }
     }
 
+    @Override
+    public void deleteFiles(List<String> objectNames) {
+        for (int from = 0; from < objectNames.size(); from += DELETE_BATCH_SIZE) {
+            List<DeleteObject> batch = objectNames.subList(from, Math.min(from + DELETE_BATCH_SIZE, objectNames.size()))
+                    .stream()
+                    .map(DeleteObject::new)
+                    .toList();
+            try {
+                Iterable<Result<DeleteError>> results = minioClient.removeObjects(
+                        RemoveObjectsArgs.builder()
+                                .bucket(bucketName)
+                                .objects(batch)
+                                .build()
+                );
+                for (Result<DeleteError> result : results) {
+                    DeleteError error = result.get();
+                    log.error("Error deleting object {} from MinIO: {}", error.objectName(), error.message());
+                }
+            } catch (Exception e) {
+                log.error("Error deleting files from MinIO", e);
+                throw new RuntimeException("Failed to delete files", e);
+            }
+        }
+        log.info("Deleted {} files", objectNames.size());
+    }
+
+    @Override
+    public long objectSize(String objectName) {
+        try {
+            return minioClient.statObject(
+                    StatObjectArgs.builder().bucket(bucketName).object(objectName).build()).size();
+        } catch (Exception e) {
+            log.error("Error reading size of {} from MinIO", objectName, e);
+            throw new RuntimeException("Failed to read object size", e);
+        }
+    }
+
     @Override
     public String getPresignedUrl(String objectName, int expirySeconds) {
         try {
@@ -105,6 +234,218 @@ public class MinioStorageAdapter implements FileStoragePort {
         }
     }
 
+    @Override
+    public MultipartUpload initiateMultipartUpload(String fileName, String contentType, String userId) {
+        String objectName = generateObjectName(UUID.fromString(userId), fileName);
+
+        try {
+            String uploadId = multipartClient.createMultipartUpload(bucketName, objectName, contentType);
+            log.info("Multipart upload initiated: {} ({})", objectName, uploadId);
+            return MultipartUpload.builder()
+                    .storageLocation(objectName)
+                    .uploadId(uploadId)
+                    .build();
+        } catch (Exception e) {
+            log.error("Error initiating multipart upload in MinIO", e);
+            throw new RuntimeException("Failed to initiate multipart upload", e);
+        }
+    }
+
+    @Override
+    public String uploadPart(String objectName, String uploadId, int partNumber, InputStream inputStream, long size) {
+        try {
+            String url = presignPartUrl(objectName, uploadId, partNumber, PART_URL_EXPIRY_SECONDS);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .PUT(HttpRequest.BodyPublishers.fromPublisher(
+                            HttpRequest.BodyPublishers.ofInputStream(() -> inputStream), size))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("UploadPart returned " + response.statusCode() + ": " + response.body());
+            }
+            return response.headers().firstValue("ETag")
+                    .map(etag -> etag.replace("\"", ""))
+                    .orElseThrow(() -> new IllegalStateException("UploadPart response has no ETag"));
+        } catch (Exception e) {
+            log.error("Error uploading part {} of {} to MinIO", partNumber, objectName, e);
+            throw new RuntimeException("Failed to upload part", e);
+        }
+    }
+
+    @Override
+    public String getPresignedPartUrl(String objectName, String uploadId, int partNumber, int expirySeconds) {
+        try {
+            return presignPartUrl(objectName, uploadId, partNumber, expirySeconds);
+        } catch (Exception e) {
+            log.error("Error generating presigned part URL", e);
+            throw new RuntimeException("Failed to generate presigned part URL", e);
+        }
+    }
+
+    @Override
+    public Optional<UploadedPart> findUploadedPart(String objectName, String uploadId, int partNumber) {
+        try {
+            return multipartClient.findPart(bucketName, objectName, uploadId, partNumber)
+                    .map(part -> UploadedPart.builder()
+                            .partNumber(part.partNumber())
+                            .size(part.partSize())
+                            .etag(part.etag().replace("\"", ""))
+                            .build());
+        } catch (Exception e) {
+            log.error("Error listing parts of {} in MinIO", objectName, e);
+            throw new RuntimeException("Failed to look up uploaded part", e);
+        }
+    }
+
+    @Override
+    public List<UploadedPart> listUploadedParts(String objectName, String uploadId) {
+        try {
+            return multipartClient.listParts(bucketName, objectName, uploadId).stream()
+                    .map(part -> UploadedPart.builder()
+                            .partNumber(part.partNumber())
+                            .size(part.partSize())
+                            .etag(part.etag().replace("\"", ""))
+                            .build())
+                    .toList();
+        } catch (Exception e) {
+            log.error("Error listing parts of {} in MinIO", objectName, e);
+            throw new RuntimeException("Failed to list uploaded parts", e);
+        }
+    }
+
+    @Override
+    public StoredObject completeMultipartUpload(String objectName, String uploadId, Map<Integer, String> partEtags) {
+        try {
+            Map<Integer, String> stored = new HashMap<>();
+            for (Part part : multipartClient.listParts(bucketName, objectName, uploadId)) {
+                stored.put(part.partNumber(), part.etag().replace("\"", ""));
+            }
+            for (Map.Entry<Integer, String> expected : partEtags.entrySet()) {
+                if (!expected.getValue().equals(stored.get(expected.getKey()))) {
+                    throw new IllegalStateException("Part " + expected.getKey() + " of " + objectName
+                            + " changed after it was recorded");
+                }
+            }
+            Part[] parts = partEtags.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(part -> new Part(part.getKey(), part.getValue()))
+                    .toArray(Part[]::new);
+            multipartClient.completeMultipartUpload(bucketName, objectName, uploadId, parts);
+
+            StatObjectResponse stat = minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build()
+            );
+            log.info("Multipart upload completed: {} ({} parts)", objectName, parts.length);
+            return StoredObject.builder()
+                    .storageLocation(objectName)
+                    .size(stat.size())
+                    .etag(stat.etag())
+                    .build();
+        } catch (Exception e) {
+            log.error("Error completing multipart upload in MinIO", e);
+            throw new RuntimeException("Failed to complete multipart upload", e);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String objectName, String uploadId) {
+        try {
+            multipartClient.abortMultipartUpload(bucketName, objectName, uploadId);
+            log.info("Multipart upload aborted: {} ({})", objectName, uploadId);
+        } catch (Exception e) {
+            log.error("Error aborting multipart upload in MinIO", e);
+            throw new RuntimeException("Failed to abort multipart upload", e);
+        }
+    }
+
+    @Override
+    public void appendTail(String objectName, long offset, InputStream data, long length) {
+        putObject(tailPrefix(objectName) + String.format("%019d", offset), data, length, "application/octet-stream");
+    }
+
+    @Override
+    public InputStream readTail(String objectName, long from, long to) {
+        TreeMap<Long, Item> segments = new TreeMap<>();
+        long expected = from;
+        for (Item item : listTail(objectName)) {
+            long offset = Long.parseLong(item.objectName().substring(tailPrefix(objectName).length()));
+            if (offset >= from && offset < to) {
+                segments.put(offset, item);
+            }
+        }
+        for (Map.Entry<Long, Item> segment : segments.entrySet()) {
+            if (segment.getKey() != expected) {
+                throw new IllegalStateException("Staged tail of " + objectName + " is not contiguous at " + expected);
+            }
+            expected += segment.getValue().size();
+        }
+        if (expected != to) {
+            throw new IllegalStateException("Staged tail of " + objectName + " ends at " + expected + ", expected " + to);
+        }
+
+        Iterator<Item> items = segments.values().iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return items.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return downloadFile(items.next().objectName());
+            }
+        });
+    }
+
+    @Override
+    public void deleteTail(String objectName) {
+        List<String> segments = new ArrayList<>();
+        for (Item item : listTail(objectName)) {
+            segments.add(item.objectName());
+        }
+        deleteFiles(segments);
+    }
+
+    private List<Item> listTail(String objectName) {
+        try {
+            List<Item> items = new ArrayList<>();
+            for (Result<Item> result : minioClient.listObjects(
+                    ListObjectsArgs.builder()
+                            .bucket(bucketName)
+                            .prefix(tailPrefix(objectName))
+                            .recursive(true)
+                            .build())) {
+                items.add(result.get());
+            }
+            return items;
+        } catch (Exception e) {
+            log.error("Error listing staged tail of {}", objectName, e);
+            throw new RuntimeException("Failed to list staged tail", e);
+        }
+    }
+
+    private String tailPrefix(String objectName) {
+        return objectName + ".tail/";
+    }
+
+    private String presignPartUrl(String objectName, String uploadId, int partNumber, int expirySeconds)
+            throws Exception {
+        return minioClient.getPresignedObjectUrl(
+                GetPresignedObjectUrlArgs.builder()
+                        .method(io.minio.http.Method.PUT)
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .expiry(expirySeconds)
+                        .extraQueryParams(Map.of(
+                                "uploadId", uploadId,
+                                "partNumber", String.valueOf(partNumber)))
+                        .build()
+        );
+    }
+
     private String generateObjectName(UUID userId, String originalFilename) {
         String timestamp = String.valueOf(System.currentTimeMillis());
         String uuid = UUID.randomUUID().toString();
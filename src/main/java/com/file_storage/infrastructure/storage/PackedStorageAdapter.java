@@ -0,0 +1,289 @@
+package com.file_storage.infrastructure.storage;
+
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.infrastructure.config.StorageConfig;
+import com.file_storage.infrastructure.persistence.entity.pack.PackEntity;
+import com.file_storage.infrastructure.persistence.entity.pack.PackEntryEntity;
+import com.file_storage.infrastructure.persistence.entity.pack.PackEntryEntity.EntryStatus;
+import com.file_storage.infrastructure.persistence.repository.PackEntryRepository;
+import com.file_storage.infrastructure.persistence.repository.PackRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Packs small files back to back into large pack objects, with their offsets indexed in
+ * {@code pack_entries}. A small file is first written as its own staging object so the upload
+ * returns immediately; {@link #packStaged()} later concatenates staged files into a pack and
+ * {@link #compact()} rewrites packs whose entries are mostly deleted. Files are addressed by
+ * their entry id, so moving the bytes between packs never changes the stored location.
+ * <p>
+ * Files above the size limit, and files of unknown size, go to the delegate unchanged.
+ */
+@Slf4j
+public class PackedStorageAdapter implements FileStoragePort {
+
+    private static final String ENTRY_PREFIX = "packed/";
+    private static final String PACK_PREFIX = "packs/";
+    private static final int STAGED_BATCH_SIZE = 10000;
+
+    private final FileStoragePort delegate;
+    private final MinioStorageAdapter objectStore;
+    private final PackRepository packRepository;
+    private final PackEntryRepository packEntryRepository;
+    private final StorageConfig.Packing config;
+
+    public PackedStorageAdapter(FileStoragePort delegate, MinioStorageAdapter objectStore,
+                                PackRepository packRepository, PackEntryRepository packEntryRepository,
+                                StorageConfig.Packing config) {
+        this.delegate = delegate;
+        this.objectStore = objectStore;
+        this.packRepository = packRepository;
+        this.packEntryRepository = packEntryRepository;
+        this.config = config;
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, String fileName, String contentType, long size, String userId) {
+        if (size < 0 || size > config.getMaxFileSize()) {
+            return delegate.uploadFile(inputStream, fileName, contentType, size, userId);
+        }
+
+        String stagingLocation = objectStore.uploadFile(inputStream, fileName, contentType, size, userId);
+        PackEntryEntity entry = packEntryRepository.save(PackEntryEntity.builder()
+                .id(UUID.randomUUID())
+                .size(size)
+                .stagingLocation(stagingLocation)
+                .status(EntryStatus.STAGED)
+                .createdAt(LocalDateTime.now())
+                .build());
+        return ENTRY_PREFIX + entry.getId();
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation) {
+        if (!isPacked(storageLocation)) {
+            return delegate.downloadFile(storageLocation);
+        }
+
+        PackEntryEntity entry = findEntry(storageLocation);
+        if (entry.getStatus() == EntryStatus.PACKED) {
+            return objectStore.downloadFile(entry.getPackLocation(), entry.getPackOffset(), entry.getSize());
+        }
+        return objectStore.downloadFile(entry.getStagingLocation());
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation, long offset, long length) {
+        if (!isPacked(storageLocation)) {
+            return delegate.downloadFile(storageLocation, offset, length);
+        }
+
+        PackEntryEntity entry = findEntry(storageLocation);
+        long available = Math.max(0, Math.min(length, entry.getSize() - offset));
+        if (entry.getStatus() == EntryStatus.PACKED) {
+            return objectStore.downloadFile(entry.getPackLocation(), entry.getPackOffset() + offset, available);
+        }
+        return objectStore.downloadFile(entry.getStagingLocation(), offset, available);
+    }
+
+    /**
+     * Only marks the entry deleted; staging objects are removed by the next packing run and
+     * pack space by compaction, so readers that already resolved the entry are not cut off.
+     */
+    @Override
+    public void deleteFile(String storageLocation) {
+        if (!isPacked(storageLocation)) {
+            delegate.deleteFile(storageLocation);
+            return;
+        }
+        packEntryRepository.markDeleted(entryId(storageLocation), LocalDateTime.now());
+    }
+
+    @Override
+    public void deleteFiles(List<String> storageLocations) {
+        List<String> others = new ArrayList<>();
+        for (String location : storageLocations) {
+            if (isPacked(location)) {
+                deleteFile(location);
+            } else {
+                others.add(location);
+            }
+        }
+        if (!others.isEmpty()) {
+            delegate.deleteFiles(others);
+        }
+    }
+
+    @Override
+    public long objectSize(String storageLocation) {
+        if (!isPacked(storageLocation)) {
+            return delegate.objectSize(storageLocation);
+        }
+        return findEntry(storageLocation).getSize();
+    }
+
+    @Override
+    public String getPresignedUrl(String storageLocation, int expirationSeconds) {
+        if (isPacked(storageLocation)) {
+            throw new RuntimeException("Packed files cannot be served through a presigned URL");
+        }
+        return delegate.getPresignedUrl(storageLocation, expirationSeconds);
+    }
+
+    @Override
+    public boolean isDirectlyAddressable(String storageLocation) {
+        return !isPacked(storageLocation) && delegate.isDirectlyAddressable(storageLocation);
+    }
+
+    /**
+     * Removes staging objects that are no longer needed, then writes staged files into new
+     * packs. A partial pack is only written once its oldest file has waited longer than
+     * {@code maxStagingAge}. Returns the number of files packed.
+     */
+    public int packStaged() {
+        sweepStaging();
+
+        List<PackEntryEntity> staged = packEntryRepository.findStaged(PageRequest.of(0, STAGED_BATCH_SIZE));
+        LocalDateTime flushBefore = LocalDateTime.now().minus(config.getMaxStagingAge());
+        int packed = 0;
+        List<PackEntryEntity> batch = new ArrayList<>();
+        long batchSize = 0;
+        for (PackEntryEntity entry : staged) {
+            batch.add(entry);
+            batchSize += entry.getSize();
+            if (batchSize >= config.getTargetPackSize()) {
+                packed += writePack(batch, batchSize);
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+        }
+        if (!batch.isEmpty() && batch.getFirst().getCreatedAt().isBefore(flushBefore)) {
+            packed += writePack(batch, batchSize);
+        }
+        return packed;
+    }
+
+    /**
+     * Deletes packs retired by an earlier run, then rewrites the live entries of packs whose
+     * live bytes have dropped below {@code compactionThreshold}. Retired packs are kept for
+     * one grace period so in-flight reads can finish. Returns the bytes reclaimed.
+     */
+    public long compact() {
+        LocalDateTime now = LocalDateTime.now();
+        long reclaimed = 0;
+
+        List<PackEntity> retired = packRepository.findByRetiredAtBefore(now.minus(config.getGracePeriod()));
+        if (!retired.isEmpty()) {
+            objectStore.deleteFiles(retired.stream().map(PackEntity::getLocation).toList());
+            for (PackEntity pack : retired) {
+                packEntryRepository.deleteDeletedInPack(pack.getLocation());
+                reclaimed += pack.getSize();
+            }
+            packRepository.deleteAll(retired);
+        }
+
+        for (PackEntity pack : packRepository.findSparse(
+                config.getCompactionThreshold(), now.minus(config.getGracePeriod()))) {
+            List<PackEntryEntity> live = packEntryRepository.findLiveInPack(pack.getLocation());
+            if (!live.isEmpty()) {
+                rewritePack(pack, live);
+            }
+            packRepository.retire(pack.getLocation(), LocalDateTime.now());
+        }
+
+        if (reclaimed > 0) {
+            log.info("Deleted {} retired packs, reclaimed {} bytes", retired.size(), reclaimed);
+        }
+        return reclaimed;
+    }
+
+    private int writePack(List<PackEntryEntity> entries, long size) {
+        String packLocation = PACK_PREFIX + UUID.randomUUID();
+        List<Supplier<InputStream>> streams = new ArrayList<>();
+        for (PackEntryEntity entry : entries) {
+            streams.add(() -> objectStore.downloadFile(entry.getStagingLocation()));
+        }
+        objectStore.putObject(packLocation, StorageStreams.concat(streams), size, "application/octet-stream");
+        packRepository.save(PackEntity.builder()
+                .location(packLocation)
+                .size(size)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        // Entries deleted while the pack was written stay DELETED; their bytes become
+        // dead space in the pack and are reclaimed by compaction.
+        LocalDateTime now = LocalDateTime.now();
+        int packed = 0;
+        long offset = 0;
+        for (PackEntryEntity entry : entries) {
+            packed += packEntryRepository.markPacked(entry.getId(), packLocation, offset, now);
+            offset += entry.getSize();
+        }
+        log.info("Packed {} files ({} bytes) into {}", packed, size, packLocation);
+        return packed;
+    }
+
+    private void rewritePack(PackEntity pack, List<PackEntryEntity> live) {
+        String packLocation = PACK_PREFIX + UUID.randomUUID();
+        long size = 0;
+        List<Supplier<InputStream>> streams = new ArrayList<>();
+        for (PackEntryEntity entry : live) {
+            streams.add(() -> objectStore.downloadFile(pack.getLocation(), entry.getPackOffset(), entry.getSize()));
+            size += entry.getSize();
+        }
+        objectStore.putObject(packLocation, StorageStreams.concat(streams), size, "application/octet-stream");
+        packRepository.save(PackEntity.builder()
+                .location(packLocation)
+                .size(size)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        long offset = 0;
+        for (PackEntryEntity entry : live) {
+            packEntryRepository.relocate(entry.getId(), packLocation, offset);
+            offset += entry.getSize();
+        }
+        log.info("Compacted pack {} ({} bytes) into {} ({} bytes)", pack.getLocation(), pack.getSize(),
+                packLocation, size);
+    }
+
+    /**
+     * Staging objects of deleted entries go right away; those of packed entries only after the
+     * grace period, since a reader may have resolved the entry before it was packed.
+     */
+    private void sweepStaging() {
+        List<PackEntryEntity> deleted = packEntryRepository.findDeletedUnpacked();
+        if (!deleted.isEmpty()) {
+            objectStore.deleteFiles(deleted.stream().map(PackEntryEntity::getStagingLocation).toList());
+            packEntryRepository.deleteAll(deleted);
+        }
+
+        List<PackEntryEntity> packed = packEntryRepository.findPackedWithStaging(
+                LocalDateTime.now().minus(config.getGracePeriod()));
+        if (!packed.isEmpty()) {
+            objectStore.deleteFiles(packed.stream().map(PackEntryEntity::getStagingLocation).toList());
+            packEntryRepository.clearStaging(packed.stream().map(PackEntryEntity::getId).toList());
+        }
+    }
+
+    private PackEntryEntity findEntry(String storageLocation) {
+        return packEntryRepository.findById(entryId(storageLocation))
+                .filter(entry -> entry.getStatus() != EntryStatus.DELETED)
+                .orElseThrow(() -> new RuntimeException("Packed file not found: " + storageLocation));
+    }
+
+    private static UUID entryId(String storageLocation) {
+        return UUID.fromString(storageLocation.substring(ENTRY_PREFIX.length()));
+    }
+
+    private static boolean isPacked(String storageLocation) {
+        return storageLocation.startsWith(ENTRY_PREFIX);
+    }
+}
@@ -0,0 +1,117 @@
+package com.file_storage.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Reads a span of an object as consecutive byte ranges fetched in parallel. Up to {@code window} ranges
+ * are requested ahead of the reader and at most {@code concurrency} of them are fetched at the
+ * same time; ranges are handed out strictly in order, so memory use is bounded by
+ * {@code window * rangeSize} regardless of how slowly the caller consumes.
+ */
+class ParallelRangeInputStream extends InputStream {
+
+    @FunctionalInterface
+    interface RangeReader {
+        byte[] read(long offset, long length) throws Exception;
+    }
+
+    private final RangeReader rangeReader;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final long end;
+    private final long rangeSize;
+    private final int window;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private long nextOffset;
+    private byte[] current = new byte[0];
+    private int position;
+    private boolean closed;
+
+    ParallelRangeInputStream(RangeReader rangeReader, ExecutorService executor, long offset, long length,
+                             long rangeSize, int concurrency, int window) {
+        this.rangeReader = rangeReader;
+        this.executor = executor;
+        this.permits = new Semaphore(concurrency);
+        this.nextOffset = offset;
+        this.end = offset + length;
+        this.rangeSize = rangeSize;
+        this.window = window;
+        fillWindow();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        pending.forEach(future -> future.cancel(true));
+        pending.clear();
+    }
+
+    private boolean ensureData() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (position >= current.length) {
+            Future<byte[]> next = pending.poll();
+            if (next == null) {
+                return false;
+            }
+            try {
+                current = next.get();
+                position = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for range", e);
+            } catch (ExecutionException e) {
+                close();
+                throw new IOException("Failed to fetch range", e.getCause());
+            }
+            fillWindow();
+        }
+        return true;
+    }
+
+    private void fillWindow() {
+        while (pending.size() < window && nextOffset < end) {
+            long offset = nextOffset;
+            long length = Math.min(rangeSize, end - offset);
+            pending.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return rangeReader.read(offset, length);
+                } finally {
+                    permits.release();
+                }
+            }));
+            nextOffset += length;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.file_storage.infrastructure.storage;
+
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.infrastructure.config.StorageConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Shares one read of an object among every caller that asks for it while that read is running,
+ * whether or not the disk cache is enabled. The read is spooled into a temporary file that each
+ * caller tails at its own pace, so a slow caller never holds the others back and a late caller
+ * still gets the object from the start. The spool is deleted once the read is done and the last
+ * caller has closed it; it is never kept as a cached copy.
+ * <p>
+ * Spools are bounded by {@code maxSpoolSize} in total. Objects of known size reserve their size
+ * up front, objects of unknown size are counted as they arrive. When a new read does not fit it
+ * streams straight from the delegate. A read that every caller has left is abandoned. Ranged
+ * reads are passed through.
+ */
+@Slf4j
+public class SingleFlightStorageAdapter implements FileStoragePort {
+
+    private static final String SPOOL_SUFFIX = ".spool";
+    private static final int FILL_BUFFER_SIZE = 64 * 1024;
+
+    private final FileStoragePort delegate;
+    private final StorageConfig.SingleFlight config;
+    private final Path directory;
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    private long spooledBytes;
+
+    public SingleFlightStorageAdapter(FileStoragePort delegate, StorageConfig.SingleFlight config,
+                                      MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.config = config;
+        this.directory = Path.of(config.getDirectory());
+        this.coalescedCounter = Counter.builder("storage.flight.coalesced")
+                .description("Downloads that joined a read of the same object already in progress")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        Gauge.builder("storage.flight.spooled", this, flights -> flights.spooledBytes())
+                .description("Bytes reserved for downloads shared between callers")
+                .baseUnit("bytes")
+                .tag("service", "file-storage")
+                .register(meterRegistry);
+        clearDirectory();
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, String fileName, String contentType, long size, String userId) {
+        return delegate.uploadFile(inputStream, fileName, contentType, size, userId);
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation) {
+        while (true) {
+            Flight flight = inFlight.get(storageLocation);
+            if (flight != null) {
+                InputStream reader = flight.newReader();
+                if (reader != null) {
+                    coalescedCounter.increment();
+                    return reader;
+                }
+                inFlight.remove(storageLocation, flight);
+                continue;
+            }
+
+            long size = delegate.objectSize(storageLocation);
+            if (!reserve(size)) {
+                return delegate.downloadFile(storageLocation);
+            }
+            try {
+                flight = new Flight(storageLocation, size);
+            } catch (IOException e) {
+                unreserve(Math.max(size, 0));
+                log.warn("Spool unavailable, serving {} unshared", storageLocation, e);
+                return delegate.downloadFile(storageLocation);
+            }
+            if (inFlight.putIfAbsent(storageLocation, flight) != null) {
+                flight.fail(new IOException("Lost the race to fetch " + storageLocation));
+                flight.fillEnded();
+                continue;
+            }
+
+            FlightInputStream reader = flight.newReader();
+            try {
+                flight.start(delegate.downloadFile(storageLocation));
+            } catch (RuntimeException e) {
+                flight.fail(new IOException(e));
+                flight.fillEnded();
+                reader.close();
+                throw e;
+            }
+            return reader;
+        }
+    }
+
+    @Override
+    public InputStream downloadFile(String storageLocation, long offset, long length) {
+        return delegate.downloadFile(storageLocation, offset, length);
+    }
+
+    @Override
+    public void deleteFile(String storageLocation) {
+        delegate.deleteFile(storageLocation);
+    }
+
+    @Override
+    public void deleteFiles(List<String> storageLocations) {
+        delegate.deleteFiles(storageLocations);
+    }
+
+    @Override
+    public String getPresignedUrl(String storageLocation, int expirationSeconds) {
+        return delegate.getPresignedUrl(storageLocation, expirationSeconds);
+    }
+
+    @Override
+    public boolean isDirectlyAddressable(String storageLocation) {
+        return delegate.isDirectlyAddressable(storageLocation);
+    }
+
+    @Override
+    public long objectSize(String storageLocation) {
+        return delegate.objectSize(storageLocation);
+    }
+
+    @Override
+    public Optional<Path> findLocalCopy(String storageLocation) {
+        return delegate.findLocalCopy(storageLocation);
+    }
+
+    synchronized long spooledBytes() {
+        return spooledBytes;
+    }
+
+    /**
+     * Reserves spool space for a read of {@code size} bytes; an unknown size reserves nothing
+     * yet and is charged as it is written. Returns false when the spool is full.
+     */
+    private synchronized boolean reserve(long size) {
+        long needed = Math.max(size, 0);
+        if (spooledBytes + needed > config.getMaxSpoolSize()) {
+            return false;
+        }
+        spooledBytes += needed;
+        return true;
+    }
+
+    private synchronized void unreserve(long size) {
+        spooledBytes -= size;
+    }
+
+    private synchronized void charge(long size) {
+        spooledBytes += size;
+    }
+
+    /**
+     * Spools from a previous run are never read again.
+     */
+    private void clearDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> listing = Files.list(directory)) {
+                listing.filter(file -> file.getFileName().toString().endsWith(SPOOL_SUFFIX))
+                        .forEach(SingleFlightStorageAdapter::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize download spool at " + directory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spool file {}", file, e);
+        }
+    }
+
+    /**
+     * One read from the delegate into a spool file, shared by every reader that joins while the
+     * spool is open. The fill runs on its own thread at origin speed. The spool is closed, and
+     * with it deleted, once the fill has ended and the last reader has closed; the fill stops
+     * early if every reader leaves before it is done.
+     */
+    private final class Flight {
+        private final String storageLocation;
+        private final long size;
+        private final FileChannel channel;
+        private long written;
+        private boolean done;
+        private boolean filling = true;
+        private boolean abandoned;
+        private IOException failure;
+        private int readers;
+
+        Flight(String storageLocation, long size) throws IOException {
+            this.storageLocation = storageLocation;
+            this.size = size;
+            this.channel = FileChannel.open(directory.resolve(UUID.randomUUID() + SPOOL_SUFFIX),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        void start(InputStream source) {
+            Thread.ofVirtual().name("flight-fill").start(() -> fill(source));
+        }
+
+        /**
+         * Returns a reader, or null once the flight has been abandoned or its spool closed.
+         */
+        synchronized FlightInputStream newReader() {
+            if (abandoned || failure != null || !channel.isOpen()) {
+                return null;
+            }
+            readers++;
+            return new FlightInputStream(this);
+        }
+
+        synchronized void fail(IOException e) {
+            failure = e;
+            inFlight.remove(storageLocation, this);
+            notifyAll();
+        }
+
+        private void fill(InputStream source) {
+            byte[] buffer = new byte[FILL_BUFFER_SIZE];
+            try (source) {
+                int n;
+                while (!isAbandoned() && (n = source.read(buffer)) >= 0) {
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, n);
+                    long position = written();
+                    while (chunk.hasRemaining()) {
+                        position += channel.write(chunk, position);
+                    }
+                    if (size < 0) {
+                        charge(n);
+                    }
+                    if (!advance(n)) {
+                        fail(new IOException("Object " + storageLocation + " is larger than its reported size " + size));
+                        return;
+                    }
+                }
+                synchronized (this) {
+                    done = !abandoned;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                if (!isAbandoned()) {
+                    log.warn("Failed to fetch {}", storageLocation, e);
+                }
+                fail(e);
+            } finally {
+                fillEnded();
+            }
+        }
+
+        private synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        private synchronized long written() {
+            return written;
+        }
+
+        private synchronized boolean advance(int n) {
+            written += n;
+            notifyAll();
+            return size < 0 || written <= size;
+        }
+
+        /**
+         * Blocks until bytes past {@code position} are available; returns the number written so
+         * far, or -1 at the end of the object.
+         */
+        synchronized long awaitData(long position) throws IOException {
+            while (position >= written && !done && failure == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted waiting for shared download", e);
+                }
+            }
+            if (failure != null) {
+                throw new IOException("Shared download failed", failure);
+            }
+            return position < written ? written : -1;
+        }
+
+        synchronized void fillEnded() {
+            filling = false;
+            if (!done) {
+                inFlight.remove(storageLocation, this);
+            }
+            closeIfUnused();
+        }
+
+        synchronized void readerClosed() {
+            readers--;
+            if (readers == 0 && filling) {
+                abandoned = true;
+                inFlight.remove(storageLocation, this);
+            }
+            closeIfUnused();
+        }
+
+        private void closeIfUnused() {
+            if (filling || readers > 0 || !channel.isOpen()) {
+                return;
+            }
+            inFlight.remove(storageLocation, this);
+            unreserve(size < 0 ? written : size);
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close spool for {}", storageLocation, e);
+            }
+        }
+    }
+
+    private static final class FlightInputStream extends InputStream {
+        private final Flight flight;
+        private long position;
+        private boolean closed;
+
+        FlightInputStream(Flight flight) {
+            this.flight = flight;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            long available = flight.awaitData(position);
+            if (available < 0) {
+                return -1;
+            }
+            int n = flight.channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available - position)), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                flight.readerClosed();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.file_storage.infrastructure.storage;
+
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+final class StorageStreams {
+
+    private StorageStreams() {
+    }
+
+    /**
+     * Chains the streams, opening each one only when the previous one is exhausted.
+     */
+    static InputStream concat(List<Supplier<InputStream>> streams) {
+        Iterator<Supplier<InputStream>> iterator = streams.iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return iterator.next().get();
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.file_storage.infrastructure.storage.chunking;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Splits a stream into content-defined chunks using FastCDC with normalized chunking
+ * (Xia et al., USENIX ATC '16). Cut points depend only on the bytes around them, so an
+ * insert or delete near the start of a file only changes the chunks it touches.
+ */
+public class FastCdcChunker {
+
+    /**
+     * Changing the seed changes every cut point and breaks deduplication against chunks
+     * that are already stored.
+     */
+    private static final long[] GEAR = new long[256];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eedcdcL);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    private final InputStream inputStream;
+    private final int minSize;
+    private final int avgSize;
+    private final int maxSize;
+    private final long maskS;
+    private final long maskL;
+    private final byte[] buffer;
+    private int start;
+    private int end;
+    private boolean eof;
+
+    public FastCdcChunker(InputStream inputStream, int minSize, int avgSize, int maxSize) {
+        if (Integer.bitCount(avgSize) != 1 || minSize >= avgSize || avgSize >= maxSize) {
+            throw new IllegalArgumentException("Chunk sizes must satisfy min < avg < max with avg a power of two");
+        }
+        int bits = Integer.numberOfTrailingZeros(avgSize);
+        this.inputStream = inputStream;
+        this.minSize = minSize;
+        this.avgSize = avgSize;
+        this.maxSize = maxSize;
+        this.maskS = highBits(bits + 1);
+        this.maskL = highBits(bits - 1);
+        this.buffer = new byte[maxSize];
+    }
+
+    /**
+     * Returns the next chunk, or null once the stream is exhausted.
+     */
+    public byte[] nextChunk() throws IOException {
+        fill();
+        if (start == end) {
+            return null;
+        }
+        int length = cutPoint(start, end - start);
+        byte[] chunk = Arrays.copyOfRange(buffer, start, start + length);
+        start += length;
+        return chunk;
+    }
+
+    private int cutPoint(int offset, int available) {
+        if (available <= minSize) {
+            return available;
+        }
+        int limit = Math.min(available, maxSize);
+        int normal = Math.min(avgSize, limit);
+        long fingerprint = 0;
+        int i = minSize;
+        for (; i < normal; i++) {
+            fingerprint = (fingerprint << 1) + GEAR[buffer[offset + i] & 0xff];
+            if ((fingerprint & maskS) == 0) {
+                return i + 1;
+            }
+        }
+        for (; i < limit; i++) {
+            fingerprint = (fingerprint << 1) + GEAR[buffer[offset + i] & 0xff];
+            if ((fingerprint & maskL) == 0) {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    private void fill() throws IOException {
+        if (eof || end - start == maxSize) {
+            return;
+        }
+        System.arraycopy(buffer, start, buffer, 0, end - start);
+        end -= start;
+        start = 0;
+        while (end < buffer.length) {
+            int read = inputStream.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                eof = true;
+                return;
+            }
+            end += read;
+        }
+    }
+
+    private static long highBits(int count) {
+        return count <= 0 ? 0 : -1L << (64 - count);
+    }
+}
@@ -6,8 +6,10 @@ import com.file_storage.domain.model.UploadSession;
 import com.file_storage.infrastructure.web.dto.request.InitiateUploadRequest;
 import com.file_storage.infrastructure.web.dto.response.ApiResponse;
 import com.file_storage.infrastructure.websocket.SyncWebSocketHandler;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -72,6 +74,75 @@ public class ChunkedUploadController {
         return ResponseEntity.ok(ApiResponse.success("Chunk uploaded", uploadedChunk));
     }
 
+    /**
+     * Streams the raw request body into the chunk's storage part without multipart spooling.
+     */
+    @PutMapping(value = "/{sessionId}/chunk/{chunkNumber}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<FileChunk>> uploadChunkContent(
+            @PathVariable UUID sessionId,
+            @PathVariable Integer chunkNumber,
+            @RequestParam(value = "checksum", required = false) String checksum,
+            HttpServletRequest request,
+            Authentication authentication) throws Exception {
+
+        UUID userId = getUserIdFromAuth(authentication);
+
+        long chunkSize = request.getContentLengthLong();
+        if (chunkSize < 0) {
+            throw new RuntimeException("Content-Length is required for chunk uploads");
+        }
+
+        FileChunk uploadedChunk = chunkedUploadUseCase.uploadChunk(
+                sessionId,
+                chunkNumber,
+                request.getInputStream(),
+                chunkSize,
+                checksum,
+                userId
+        );
+
+        UploadSession session = chunkedUploadUseCase.getUploadSession(sessionId, userId);
+        syncWebSocketHandler.notifyUploadProgress(
+                userId.toString(),
+                sessionId.toString(),
+                session.getProgress()
+        );
+
+        return ResponseEntity.ok(ApiResponse.success("Chunk uploaded", uploadedChunk));
+    }
+
+    @GetMapping("/{sessionId}/chunk/{chunkNumber}/upload-url")
+    public ResponseEntity<ApiResponse<String>> getChunkUploadUrl(
+            @PathVariable UUID sessionId,
+            @PathVariable Integer chunkNumber,
+            Authentication authentication) {
+
+        UUID userId = getUserIdFromAuth(authentication);
+        String url = chunkedUploadUseCase.getChunkUploadUrl(sessionId, chunkNumber, userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Chunk upload URL generated", url));
+    }
+
+    @PostMapping("/{sessionId}/chunk/{chunkNumber}/confirm")
+    public ResponseEntity<ApiResponse<FileChunk>> confirmChunk(
+            @PathVariable UUID sessionId,
+            @PathVariable Integer chunkNumber,
+            Authentication authentication) {
+
+        UUID userId = getUserIdFromAuth(authentication);
+
+        FileChunk confirmedChunk = chunkedUploadUseCase.confirmChunk(sessionId, chunkNumber, userId);
+
+        UploadSession session = chunkedUploadUseCase.getUploadSession(sessionId, userId);
+        syncWebSocketHandler.notifyUploadProgress(
+                userId.toString(),
+                sessionId.toString(),
+                session.getProgress()
+        );
+
+        return ResponseEntity.ok(ApiResponse.success("Chunk confirmed", confirmedChunk));
+    }
+
     @GetMapping("/{sessionId}")
     public ResponseEntity<ApiResponse<UploadSession>> getUploadSession(
             @PathVariable UUID sessionId,
@@ -95,12 +166,15 @@ public class ChunkedUploadController {
     }
 
     @GetMapping("/{sessionId}/missing-chunks")
-    public ResponseEntity<ApiResponse<List<Integer>>> getMissingChunks(
+    public ResponseEntity<ApiResponse<List<List<Integer>>>> getMissingChunks(
             @PathVariable UUID sessionId,
             Authentication authentication) {
 
         UUID userId = getUserIdFromAuth(authentication);
-        List<Integer> missingChunks = chunkedUploadUseCase.getMissingChunks(sessionId, userId);
+        List<List<Integer>> missingChunks = chunkedUploadUseCase.getMissingChunks(sessionId, userId)
+                .stream()
+                .map(range -> List.of(range.getStart(), range.getEnd()))
+                .toList();
 
         return ResponseEntity.ok(ApiResponse.success(missingChunks));
     }
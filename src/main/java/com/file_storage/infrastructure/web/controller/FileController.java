@@ -1,21 +1,48 @@
 package com.file_storage.infrastructure.web.controller;
 
+import com.file_storage.application.port.in.BatchUploadUseCase;
+import com.file_storage.application.port.in.DeltaUploadUseCase;
 import com.file_storage.application.port.in.FileUseCase;
 import com.file_storage.domain.model.File;
+import com.file_storage.domain.model.FileSignatures;
 import com.file_storage.domain.model.FileUploadRequest;
+import com.file_storage.infrastructure.config.StorageConfig;
+import com.file_storage.infrastructure.web.dto.request.DownloadUrlsRequest;
 import com.file_storage.infrastructure.web.dto.response.ApiResponse;
 import com.file_storage.infrastructure.web.dto.response.FileResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,12 +50,21 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/files")
 @RequiredArgsConstructor
 public class FileController {
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     private final FileUseCase fileUseCase;
+    private final DeltaUploadUseCase deltaUploadUseCase;
+    private final BatchUploadUseCase batchUploadUseCase;
+    private final StorageConfig storageConfig;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<FileResponse>> uploadFile(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "folderId", required = false) UUID folderId,
+            @RequestParam(value = "checksum", required = false) String checksum,
             Authentication authentication) throws Exception {
         
         UUID userId = getUserIdFromAuth(authentication);
@@ -38,6 +74,7 @@ public class FileController {
                 .fileName(file.getOriginalFilename())
                 .contentType(file.getContentType())
                 .size(file.getSize())
+                .checksum(checksum)
                 .build();
         
         File uploadedFile = fileUseCase.uploadFile(request, userId, folderId);
@@ -46,31 +83,184 @@ public class FileController {
         return ResponseEntity.ok(ApiResponse.success("File uploaded successfully", response));
     }
 
+    /**
+     * Streams the raw request body to storage without multipart spooling. Requests sent
+     * without a Content-Length are stored with an unknown size.
+     */
+    @PutMapping(value = "/content", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<FileResponse>> uploadFileContent(
+            @RequestParam("fileName") String fileName,
+            @RequestParam(value = "contentType", defaultValue = MediaType.APPLICATION_OCTET_STREAM_VALUE) String contentType,
+            @RequestParam(value = "folderId", required = false) UUID folderId,
+            @RequestParam(value = "checksum", required = false) String checksum,
+            HttpServletRequest servletRequest,
+            Authentication authentication) throws Exception {
+
+        UUID userId = getUserIdFromAuth(authentication);
+
+        FileUploadRequest request = FileUploadRequest.builder()
+                .inputStream(servletRequest.getInputStream())
+                .fileName(fileName)
+                .contentType(contentType)
+                .size(servletRequest.getContentLengthLong())
+                .checksum(checksum)
+                .build();
+
+        File uploadedFile = fileUseCase.uploadFile(request, userId, folderId);
+        FileResponse response = mapToFileResponse(uploadedFile);
+
+        return ResponseEntity.ok(ApiResponse.success("File uploaded successfully", response));
+    }
+
+    @PostMapping(value = "/batch", consumes = {"application/zip", "application/x-tar", "application/gzip"})
+    public ResponseEntity<ApiResponse<List<FileResponse>>> uploadArchive(
+            @RequestParam(value = "folderId", required = false) UUID folderId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request,
+            Authentication authentication) throws Exception {
+
+        UUID userId = getUserIdFromAuth(authentication);
+        String format = switch (MediaType.parseMediaType(contentType).getSubtype()) {
+            case "zip" -> "zip";
+            case "x-tar" -> "tar";
+            default -> "tar.gz";
+        };
+
+        List<File> files = batchUploadUseCase.uploadArchive(request.getInputStream(), format, folderId, userId);
+        List<FileResponse> response = files.stream()
+                .map(this::mapToFileResponse)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(ApiResponse.success(files.size() + " files uploaded", response));
+    }
+
     @GetMapping("/{fileId}")
     public ResponseEntity<ApiResponse<FileResponse>> getFileMetadata(
             @PathVariable UUID fileId,
+            WebRequest webRequest,
             Authentication authentication) {
         
         UUID userId = getUserIdFromAuth(authentication);
-        File file = fileUseCase.getFileMetadata(fileId, userId);
+        File file = ownedFile(fileId, userId);
+        String etag = "\"" + contentTag(file) + "-" + lastModified(file) + "\"";
+        if (webRequest.checkNotModified(etag, lastModified(file))) {
+            return null;
+        }
         FileResponse response = mapToFileResponse(file);
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified(file))
+                .body(ApiResponse.success(response));
     }
 
+    /**
+     * Serves the whole file, or the byte ranges requested through the {@code Range} header as a
+     * {@code 206} response. Only the requested bytes are fetched from storage. Conditional
+     * requests are answered from the cached metadata before storage is touched. Bodies are
+     * written asynchronously, so the request thread is released before the transfer starts.
+     */
     @GetMapping("/{fileId}/download")
-    public ResponseEntity<InputStreamResource> downloadFile(
+    public ResponseEntity<?> downloadFile(
             @PathVariable UUID fileId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            WebRequest webRequest,
+            HttpServletRequest request,
             Authentication authentication) {
         
         UUID userId = getUserIdFromAuth(authentication);
-        File file = fileUseCase.getFileMetadata(fileId, userId);
-        InputStream inputStream = fileUseCase.downloadFile(fileId, userId);
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
-                .contentType(MediaType.parseMediaType(file.getContentType()))
-                .body(new InputStreamResource(inputStream));
+        File file = ownedFile(fileId, userId);
+        long size = file.getSize();
+        String etag = "\"" + contentTag(file) + "\"";
+        long lastModified = lastModified(file);
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        String downloadMode = storageConfig.getDownload().getMode();
+        if (!"stream".equals(downloadMode)) {
+            Optional<String> url = fileUseCase.findDownloadUrl(fileId, userId);
+            if (url.isPresent()) {
+                return offloadDownload(downloadMode, url.get(), file, etag, lastModified);
+            }
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = rangeHeader == null || !ifRangeMatches(ifRange, etag, lastModified)
+                    ? List.of()
+                    : HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(size);
+        }
+        if (ranges.isEmpty()) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .contentType(MediaType.parseMediaType(file.getContentType()))
+                    .contentLength(size);
+            Optional<Path> localCopy = fileUseCase.findLocalCopy(fileId, userId);
+            if (localCopy.isPresent()) {
+                return sendLocalCopy(request, response, localCopy.get(), 0, size);
+            }
+            return response.body((StreamingResponseBody) outputStream -> {
+                try (InputStream inputStream = fileUseCase.downloadFile(fileId, userId)) {
+                    inputStream.transferTo(outputStream);
+                }
+            });
+        }
+
+        List<ByteRange> satisfiable = satisfiableRanges(ranges, size);
+        if (satisfiable.isEmpty()) {
+            return rangeNotSatisfiable(size);
+        }
+
+        if (satisfiable.size() == 1) {
+            long start = satisfiable.getFirst().start();
+            long end = satisfiable.getFirst().end();
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size)
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .contentType(MediaType.parseMediaType(file.getContentType()))
+                    .contentLength(end - start + 1);
+            Optional<Path> localCopy = fileUseCase.findLocalCopy(fileId, userId);
+            if (localCopy.isPresent()) {
+                return sendLocalCopy(request, response, localCopy.get(), start, end + 1);
+            }
+            return response.body((StreamingResponseBody) outputStream -> {
+                try (InputStream inputStream = fileUseCase.downloadFile(fileId, userId, start, end - start + 1)) {
+                    inputStream.transferTo(outputStream);
+                }
+            });
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        StreamingResponseBody body = outputStream -> {
+            for (ByteRange range : satisfiable) {
+                long start = range.start();
+                long end = range.end();
+                String partHeader = "\r\n--" + boundary + "\r\n"
+                        + HttpHeaders.CONTENT_TYPE + ": " + file.getContentType() + "\r\n"
+                        + HttpHeaders.CONTENT_RANGE + ": bytes " + start + "-" + end + "/" + size + "\r\n\r\n";
+                outputStream.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                try (InputStream part = fileUseCase.downloadFile(fileId, userId, start, end - start + 1)) {
+                    part.transferTo(outputStream);
+                }
+            }
+            outputStream.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        };
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(etag)
+                .lastModified(lastModified)
+                .contentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary))
+                .body(body);
     }
 
     @GetMapping("/{fileId}/download-url")
@@ -84,6 +274,45 @@ public class FileController {
         return ResponseEntity.ok(ApiResponse.success("Download URL generated", url));
     }
 
+    @PostMapping("/download-urls")
+    public ResponseEntity<ApiResponse<Map<UUID, String>>> getDownloadUrls(
+            @Valid @RequestBody DownloadUrlsRequest request,
+            Authentication authentication) {
+
+        UUID userId = getUserIdFromAuth(authentication);
+        Map<UUID, String> urls = fileUseCase.getDownloadUrls(request.getFileIds(), userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Download URLs generated", urls));
+    }
+
+    @GetMapping("/{fileId}/signatures")
+    public ResponseEntity<ApiResponse<FileSignatures>> getSignatures(
+            @PathVariable UUID fileId,
+            @RequestParam(value = "blockSize", defaultValue = "65536") int blockSize,
+            Authentication authentication) {
+
+        UUID userId = getUserIdFromAuth(authentication);
+        FileSignatures signatures = deltaUploadUseCase.getSignatures(fileId, userId, blockSize);
+
+        return ResponseEntity.ok(ApiResponse.success(signatures));
+    }
+
+    @PutMapping(value = "/{fileId}/delta", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<FileResponse>> applyDelta(
+            @PathVariable UUID fileId,
+            @RequestParam("baseChecksum") String baseChecksum,
+            @RequestParam(value = "blockSize", defaultValue = "65536") int blockSize,
+            @RequestParam(value = "comment", required = false) String comment,
+            HttpServletRequest request,
+            Authentication authentication) throws Exception {
+
+        UUID userId = getUserIdFromAuth(authentication);
+        File file = deltaUploadUseCase.applyDelta(
+                fileId, userId, baseChecksum, blockSize, request.getInputStream(), comment);
+
+        return ResponseEntity.ok(ApiResponse.success("New version created", mapToFileResponse(file)));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<FileResponse>>> listFiles(Authentication authentication) {
         UUID userId = getUserIdFromAuth(authentication);
@@ -134,6 +363,147 @@ public class FileController {
         return ResponseEntity.ok(ApiResponse.success("File deleted successfully", null));
     }
 
+    /**
+     * The content checksum identifies the bytes exactly, which makes it a valid strong validator.
+     * Files stored before checksums were recorded fall back to their id and modification time.
+     */
+    private String contentTag(File file) {
+        if (file.getChecksum() != null) {
+            return file.getChecksum();
+        }
+        return file.getId() + "-" + lastModified(file);
+    }
+
+    private long lastModified(File file) {
+        LocalDateTime modified = file.getUpdatedAt() != null ? file.getUpdatedAt() : file.getCreatedAt();
+        if (modified == null) {
+            return -1;
+        }
+        return modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * A range is only honoured when {@code If-Range} is absent or still matches, so a client
+     * resuming a download of a file that changed gets the whole new file instead of a splice.
+     */
+    private boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified >= 0 && lastModified / 1000 == since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Leaves the transfer to storage. In redirect mode the client follows a 307 to the presigned
+     * URL itself; in accel mode nginx fetches the same URL from an internal location, keeping
+     * storage unexposed. Either way Range headers go along to storage unchanged.
+     */
+    private ResponseEntity<?> offloadDownload(String mode, String presignedUrl, File file, String etag,
+                                              long lastModified) {
+        if ("redirect".equals(mode)) {
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                    .location(URI.create(presignedUrl))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+
+        // The URL is signed for the storage endpoint's host, so nginx must send that exact Host.
+        // Passing scheme and host in the path keeps nginx in step with minio.endpoint.
+        URI uri = URI.create(presignedUrl);
+        String internalPath = storageConfig.getDownload().getAccelPrefix()
+                + "/" + uri.getScheme() + "/" + uri.getRawAuthority() + uri.getRawPath()
+                + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        return ResponseEntity.ok()
+                .header("X-Accel-Redirect", internalPath)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
+                .eTag(etag)
+                .lastModified(lastModified)
+                .contentType(MediaType.parseMediaType(file.getContentType()))
+                .build();
+    }
+
+    /**
+     * Sends {@code [start, end)} of a locally cached file. On Tomcat connectors that support it,
+     * the file is handed to the connector and written with sendfile, so the bytes never pass
+     * through the JVM heap; otherwise it is copied through a file channel.
+     */
+    private ResponseEntity<?> sendLocalCopy(HttpServletRequest request, ResponseEntity.BodyBuilder response,
+                                            Path path, long start, long end) {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end);
+            return response.build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (FileChannel channel = FileChannel.open(path)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long position = start;
+                while (position < end) {
+                    long transferred = channel.transferTo(position, end - position, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+            }
+        };
+        return response.body(body);
+    }
+
+    /**
+     * Drops ranges that start past the end of the file and merges overlapping or adjacent ones,
+     * so no byte is sent twice however the ranges were written. An empty result means nothing
+     * in the request can be satisfied.
+     */
+    private List<ByteRange> satisfiableRanges(List<HttpRange> ranges, long size) {
+        List<ByteRange> sorted = ranges.stream()
+                .filter(range -> range.getRangeStart(size) < size)
+                .map(range -> new ByteRange(range.getRangeStart(size), range.getRangeEnd(size)))
+                .sorted(Comparator.comparingLong(ByteRange::start))
+                .toList();
+        List<ByteRange> merged = new ArrayList<>();
+        for (ByteRange range : sorted) {
+            ByteRange last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && range.start() <= last.end() + 1) {
+                merged.set(merged.size() - 1, new ByteRange(last.start(), Math.max(last.end(), range.end())));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private record ByteRange(long start, long end) {
+    }
+
+    private ResponseEntity<Void> rangeNotSatisfiable(long size) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                .build();
+    }
+
+    /**
+     * Conditional and ranged responses are built from metadata alone and their bodies are read
+     * after the status is committed, so ownership is checked before anything is answered.
+     */
+    private File ownedFile(UUID fileId, UUID userId) {
+        File file = fileUseCase.getFileMetadata(fileId, userId);
+        if (!file.isOwnedBy(userId)) {
+            throw new RuntimeException("File not found");
+        }
+        return file;
+    }
+
     private UUID getUserIdFromAuth(Authentication authentication) {
         return UUID.fromString(authentication.getName());
     }
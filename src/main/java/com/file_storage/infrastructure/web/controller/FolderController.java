@@ -1,5 +1,6 @@
 package com.file_storage.infrastructure.web.controller;
 
+import com.file_storage.application.port.in.FolderArchiveUseCase;
 import com.file_storage.application.port.in.FolderUseCase;
 import com.file_storage.domain.model.Folder;
 import com.file_storage.infrastructure.web.dto.request.CreateFolderRequest;
@@ -7,9 +8,12 @@ import com.file_storage.infrastructure.web.dto.response.ApiResponse;
 import com.file_storage.infrastructure.web.dto.response.FolderResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,6 +24,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FolderController {
     private final FolderUseCase folderUseCase;
+    private final FolderArchiveUseCase folderArchiveUseCase;
 
     @PostMapping
     public ResponseEntity<ApiResponse<FolderResponse>> createFolder(
@@ -70,6 +75,24 @@ public class FolderController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Streams the folder subtree as a zip archive; nothing is buffered or spooled to disk.
+     */
+    @GetMapping("/{folderId}/archive")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(
+            @PathVariable UUID folderId,
+            Authentication authentication) {
+
+        UUID userId = getUserIdFromAuth(authentication);
+        Folder folder = folderUseCase.getFolderById(folderId, userId);
+        StreamingResponseBody body = outputStream -> folderArchiveUseCase.writeArchive(folderId, userId, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + folder.getName() + ".zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     @PutMapping("/{folderId}")
     public ResponseEntity<ApiResponse<FolderResponse>> updateFolder(
             @PathVariable UUID folderId,
@@ -0,0 +1,203 @@
+package com.file_storage.infrastructure.web.controller;
+
+import com.file_storage.application.exception.UploadConflictException;
+import com.file_storage.application.port.in.ResumableUploadUseCase;
+import com.file_storage.domain.model.UploadSession;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * tus 1.0.0 resumable uploads with the creation and termination extensions.
+ *
+ * @see <a href="https://tus.io/protocols/resumable-upload">tus protocol</a>
+ */
+@RestController
+@RequestMapping("/api/v1/tus")
+@RequiredArgsConstructor
+public class TusUploadController {
+
+    private static final String TUS_RESUMABLE = "Tus-Resumable";
+    private static final String TUS_VERSION = "1.0.0";
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private final ResumableUploadUseCase resumableUploadUseCase;
+
+    @RequestMapping(method = RequestMethod.OPTIONS)
+    public ResponseEntity<Void> options() {
+        return ResponseEntity.noContent()
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header("Tus-Version", TUS_VERSION)
+                .header("Tus-Extension", "creation,termination")
+                .header("Tus-Max-Size", Long.toString(resumableUploadUseCase.getMaxUploadSize()))
+                .build();
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> createUpload(
+            @RequestHeader(value = TUS_RESUMABLE, required = false) String tusResumable,
+            @RequestHeader(UPLOAD_LENGTH) long uploadLength,
+            @RequestHeader(value = "Upload-Metadata", required = false) String uploadMetadata,
+            Authentication authentication) {
+
+        if (!TUS_VERSION.equals(tusResumable)) {
+            return versionMismatch();
+        }
+        if (uploadLength > resumableUploadUseCase.getMaxUploadSize()) {
+            return tusResponse(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        UUID userId = getUserIdFromAuth(authentication);
+        Map<String, String> metadata = parseMetadata(uploadMetadata);
+        String folderId = metadata.get("folderId");
+
+        UploadSession session = resumableUploadUseCase.createUpload(
+                metadata.getOrDefault("filename", "upload"),
+                metadata.getOrDefault("filetype", "application/octet-stream"),
+                uploadLength,
+                folderId != null ? UUID.fromString(folderId) : null,
+                userId
+        );
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{sessionId}")
+                .buildAndExpand(session.getId())
+                .toUri();
+        return ResponseEntity.created(location)
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .build();
+    }
+
+    @RequestMapping(value = "/{sessionId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getOffset(
+            @PathVariable UUID sessionId,
+            @RequestHeader(value = TUS_RESUMABLE, required = false) String tusResumable,
+            Authentication authentication) {
+
+        if (!TUS_VERSION.equals(tusResumable)) {
+            return versionMismatch();
+        }
+
+        Optional<UploadSession> session = resumableUploadUseCase.findUpload(sessionId, getUserIdFromAuth(authentication));
+        if (session.isEmpty()) {
+            return tusResponse(HttpStatus.NOT_FOUND);
+        }
+
+        return ResponseEntity.ok()
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header(UPLOAD_OFFSET, Long.toString(session.get().getUploadOffset()))
+                .header(UPLOAD_LENGTH, Long.toString(session.get().getTotalSize()))
+                .header("Cache-Control", "no-store")
+                .build();
+    }
+
+    @PatchMapping(value = "/{sessionId}", consumes = OFFSET_OCTET_STREAM)
+    public ResponseEntity<Void> appendData(
+            @PathVariable UUID sessionId,
+            @RequestHeader(value = TUS_RESUMABLE, required = false) String tusResumable,
+            @RequestHeader(UPLOAD_OFFSET) long uploadOffset,
+            HttpServletRequest request,
+            Authentication authentication) throws Exception {
+
+        if (!TUS_VERSION.equals(tusResumable)) {
+            return versionMismatch();
+        }
+
+        UUID userId = getUserIdFromAuth(authentication);
+        Optional<UploadSession> session = resumableUploadUseCase.findUpload(sessionId, userId);
+        if (session.isEmpty()) {
+            return tusResponse(HttpStatus.NOT_FOUND);
+        }
+        if (session.get().getUploadOffset() != uploadOffset) {
+            return tusResponse(HttpStatus.CONFLICT);
+        }
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0) {
+            return tusResponse(HttpStatus.LENGTH_REQUIRED);
+        }
+        if (contentLength > session.get().getTotalSize() - uploadOffset) {
+            return tusResponse(HttpStatus.BAD_REQUEST);
+        }
+
+        long newOffset;
+        try {
+            newOffset = resumableUploadUseCase.appendData(
+                    sessionId, userId, uploadOffset, request.getInputStream(), contentLength);
+        } catch (UploadConflictException e) {
+            return tusResponse(e.isLocked() ? HttpStatus.LOCKED : HttpStatus.CONFLICT);
+        }
+
+        return ResponseEntity.noContent()
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header(UPLOAD_OFFSET, Long.toString(newOffset))
+                .build();
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> terminateUpload(
+            @PathVariable UUID sessionId,
+            @RequestHeader(value = TUS_RESUMABLE, required = false) String tusResumable,
+            Authentication authentication) {
+
+        if (!TUS_VERSION.equals(tusResumable)) {
+            return versionMismatch();
+        }
+
+        UUID userId = getUserIdFromAuth(authentication);
+        if (resumableUploadUseCase.findUpload(sessionId, userId).isEmpty()) {
+            return tusResponse(HttpStatus.NOT_FOUND);
+        }
+        resumableUploadUseCase.terminateUpload(sessionId, userId);
+
+        return tusResponse(HttpStatus.NO_CONTENT);
+    }
+
+    private ResponseEntity<Void> versionMismatch() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .header("Tus-Version", TUS_VERSION)
+                .build();
+    }
+
+    private ResponseEntity<Void> tusResponse(HttpStatus status) {
+        return ResponseEntity.status(status)
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .build();
+    }
+
+    /**
+     * Upload-Metadata is a comma-separated list of keys, each optionally followed by a space
+     * and a base64-encoded value.
+     */
+    private Map<String, String> parseMetadata(String uploadMetadata) {
+        Map<String, String> metadata = new HashMap<>();
+        if (uploadMetadata == null || uploadMetadata.isBlank()) {
+            return metadata;
+        }
+        for (String pair : uploadMetadata.split(",")) {
+            String[] parts = pair.trim().split(" ", 2);
+            String value = parts.length > 1
+                    ? new String(Base64.getDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                    : "";
+            metadata.put(parts[0], value);
+        }
+        return metadata;
+    }
+
+    private UUID getUserIdFromAuth(Authentication authentication) {
+        return UUID.fromString(authentication.getName());
+    }
+}
@@ -0,0 +1,21 @@
+package com.file_storage.infrastructure.web.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DownloadUrlsRequest {
+    @NotEmpty(message = "File ids are required")
+    @Size(max = 500, message = "At most 500 files can be requested at once")
+    private List<UUID> fileIds;
+}
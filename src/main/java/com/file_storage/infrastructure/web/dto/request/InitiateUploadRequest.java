@@ -1,5 +1,6 @@
 package com.file_storage.infrastructure.web.dto.request;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -18,6 +19,7 @@ public class InitiateUploadRequest {
 
     @NotNull(message = "Total chunks is required")
     @Min(value = 1, message = "Total chunks must be at least 1")
+    @Max(value = 10000, message = "Total chunks must be at most 10000")
     private Integer totalChunks;
 
     @NotBlank(message = "Content type is required")
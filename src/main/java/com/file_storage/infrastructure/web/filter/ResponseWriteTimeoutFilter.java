@@ -0,0 +1,111 @@
+package com.file_storage.infrastructure.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+/**
+ * Fails a response once a single write takes longer than {@code writeTimeout}. Writes are
+ * passed on in slices of at most 64 KB, so a client that keeps reading, but slower than one
+ * slice per timeout, is cut off instead of holding its stream until the async request
+ * timeout. A client that stops reading altogether blocks inside the write until Tomcat's
+ * socket write timeout ({@code server.tomcat.connection-timeout}) fails it.
+ */
+public class ResponseWriteTimeoutFilter extends OncePerRequestFilter {
+
+    private static final int SLICE_SIZE = 64 * 1024;
+
+    private final Duration writeTimeout;
+
+    public ResponseWriteTimeoutFilter(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        filterChain.doFilter(request, new HttpServletResponseWrapper(response) {
+            private ServletOutputStream outputStream;
+
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                if (outputStream == null) {
+                    outputStream = new DeadlineOutputStream(super.getOutputStream(), writeTimeout.toNanos());
+                }
+                return outputStream;
+            }
+        });
+    }
+
+    private static class DeadlineOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream out;
+        private final long timeoutNanos;
+
+        DeadlineOutputStream(ServletOutputStream out, long timeoutNanos) {
+            this.out = out;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            checkDeadline(start);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, SLICE_SIZE);
+                long start = System.nanoTime();
+                out.write(b, off, n);
+                checkDeadline(start);
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            out.flush();
+            checkDeadline(start);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return out.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            out.setWriteListener(writeListener);
+        }
+
+        private void checkDeadline(long start) throws SocketTimeoutException {
+            if (System.nanoTime() - start > timeoutNanos) {
+                throw new SocketTimeoutException("Client did not accept response data within "
+                        + Duration.ofNanos(timeoutNanos).toSeconds() + "s");
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.file_storage.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeltaPatchInputStreamTest {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    @Test
+    void rebuildsEditedFileFromBaseAndPatch() throws IOException {
+        byte[] base = randomBytes(20 * BLOCK_SIZE + 300, 1);
+        byte[] target = concat(
+                Arrays.copyOfRange(base, 0, 5 * BLOCK_SIZE),
+                randomBytes(777, 2),
+                Arrays.copyOfRange(base, 5 * BLOCK_SIZE, 12 * BLOCK_SIZE),
+                Arrays.copyOfRange(base, 14 * BLOCK_SIZE, base.length));
+
+        DeltaPatchInputStream delta = apply(base, diff(base, target));
+
+        assertThat(delta.readAllBytes()).isEqualTo(target);
+        assertThat(delta.getBytesProduced()).isEqualTo(target.length);
+        assertThat(delta.getBytesLiteral()).isEqualTo(777);
+        assertThat(delta.getBytesCopied()).isEqualTo(target.length - 777);
+    }
+
+    @Test
+    void copiesShortFinalBlockOfBase() throws IOException {
+        byte[] base = randomBytes(3 * BLOCK_SIZE + 10, 3);
+        byte[] patch = patch(out -> {
+            out.write(DeltaPatchInputStream.OP_COPY);
+            out.writeLong(0);
+            out.writeInt(4);
+            out.write(DeltaPatchInputStream.OP_END);
+        });
+
+        assertThat(apply(base, patch).readAllBytes()).isEqualTo(base);
+    }
+
+    @Test
+    void rebuildsFileWithNoSharedBlocks() throws IOException {
+        byte[] base = randomBytes(4 * BLOCK_SIZE, 4);
+        byte[] target = randomBytes(3 * BLOCK_SIZE + 5, 5);
+
+        DeltaPatchInputStream delta = apply(base, diff(base, target));
+
+        assertThat(delta.readAllBytes()).isEqualTo(target);
+        assertThat(delta.getBytesCopied()).isZero();
+    }
+
+    @Test
+    void readsSingleBytes() throws IOException {
+        byte[] base = randomBytes(2 * BLOCK_SIZE, 6);
+        DeltaPatchInputStream delta = apply(base, diff(base, base));
+
+        ByteArrayOutputStream rebuilt = new ByteArrayOutputStream();
+        int b;
+        while ((b = delta.read()) >= 0) {
+            rebuilt.write(b);
+        }
+        assertThat(rebuilt.toByteArray()).isEqualTo(base);
+    }
+
+    @Test
+    void rejectsPatchWithoutEndOperation() throws IOException {
+        byte[] patch = patch(out -> {
+            out.write(DeltaPatchInputStream.OP_DATA);
+            out.writeInt(3);
+            out.write(new byte[]{1, 2, 3});
+        });
+
+        assertThatThrownBy(() -> apply(new byte[0], patch).readAllBytes()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void rejectsDataOperationCutShort() throws IOException {
+        byte[] patch = patch(out -> {
+            out.write(DeltaPatchInputStream.OP_DATA);
+            out.writeInt(10);
+            out.write(new byte[]{1, 2, 3});
+        });
+
+        assertThatThrownBy(() -> apply(new byte[0], patch).readAllBytes()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void rejectsCopyOutsideBase() throws IOException {
+        byte[] base = randomBytes(2 * BLOCK_SIZE, 7);
+        byte[] patch = patch(out -> {
+            out.write(DeltaPatchInputStream.OP_COPY);
+            out.writeLong(2);
+            out.writeInt(1);
+            out.write(DeltaPatchInputStream.OP_END);
+        });
+
+        assertThatThrownBy(() -> apply(base, patch).readAllBytes())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("outside of base");
+    }
+
+    @Test
+    void rejectsUnknownOperation() throws IOException {
+        byte[] patch = patch(out -> out.write(0x7f));
+
+        assertThatThrownBy(() -> apply(new byte[0], patch).readAllBytes())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unknown patch operation");
+    }
+
+    private static DeltaPatchInputStream apply(byte[] base, byte[] patch) {
+        return new DeltaPatchInputStream(new ByteArrayInputStream(patch),
+                (offset, length) -> new ByteArrayInputStream(base, (int) offset, (int) length),
+                BLOCK_SIZE, base.length);
+    }
+
+    /**
+     * Encodes a patch the way a client would: blocks of the target found in the base become
+     * copy operations, merged when they are consecutive, and everything else is sent as data.
+     */
+    private static byte[] diff(byte[] base, byte[] target) throws IOException {
+        Map<ByteBuffer, Long> blocks = new HashMap<>();
+        for (long index = 0; index * BLOCK_SIZE < base.length; index++) {
+            int from = (int) (index * BLOCK_SIZE);
+            blocks.putIfAbsent(ByteBuffer.wrap(Arrays.copyOfRange(base, from, Math.min(from + BLOCK_SIZE, base.length))),
+                    index);
+        }
+
+        return patch(out -> {
+            ByteArrayOutputStream literal = new ByteArrayOutputStream();
+            long copyStart = -1;
+            int copyCount = 0;
+            int position = 0;
+            while (position < target.length) {
+                int length = Math.min(BLOCK_SIZE, target.length - position);
+                Long index = blocks.get(ByteBuffer.wrap(target, position, length));
+                if (index == null) {
+                    if (copyCount > 0) {
+                        writeCopy(out, copyStart, copyCount);
+                        copyCount = 0;
+                    }
+                    literal.write(target[position++]);
+                    continue;
+                }
+                if (literal.size() > 0) {
+                    writeData(out, literal.toByteArray());
+                    literal.reset();
+                }
+                if (copyCount > 0 && copyStart + copyCount == index) {
+                    copyCount++;
+                } else {
+                    if (copyCount > 0) {
+                        writeCopy(out, copyStart, copyCount);
+                    }
+                    copyStart = index;
+                    copyCount = 1;
+                }
+                position += length;
+            }
+            if (copyCount > 0) {
+                writeCopy(out, copyStart, copyCount);
+            }
+            if (literal.size() > 0) {
+                writeData(out, literal.toByteArray());
+            }
+            out.write(DeltaPatchInputStream.OP_END);
+        });
+    }
+
+    private static void writeCopy(DataOutputStream out, long startBlock, int blockCount) throws IOException {
+        out.write(DeltaPatchInputStream.OP_COPY);
+        out.writeLong(startBlock);
+        out.writeInt(blockCount);
+    }
+
+    private static void writeData(DataOutputStream out, byte[] data) throws IOException {
+        out.write(DeltaPatchInputStream.OP_DATA);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private static byte[] patch(PatchWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface PatchWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,216 @@
+package com.file_storage.infrastructure.storage;
+
+import com.file_storage.application.port.out.BlobPort;
+import com.file_storage.domain.model.Blob;
+import com.file_storage.infrastructure.config.StorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContentDefinedStorageAdapterTest {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final InMemoryBlobPort blobPort = new InMemoryBlobPort();
+    private final MinioStorageAdapter objectStore = mock(MinioStorageAdapter.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private ContentDefinedStorageAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doAnswer(invocation -> {
+            try (InputStream in = invocation.getArgument(1)) {
+                objects.put(invocation.getArgument(0), in.readAllBytes());
+            }
+            return null;
+        }).when(objectStore).putObject(anyString(), any(InputStream.class), anyLong(), anyString());
+        when(objectStore.downloadFile(anyString())).thenAnswer(invocation ->
+                new ByteArrayInputStream(object(invocation.getArgument(0))));
+        when(objectStore.downloadFile(anyString(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            byte[] object = object(invocation.getArgument(0));
+            long offset = invocation.getArgument(1);
+            long length = invocation.getArgument(2);
+            return new ByteArrayInputStream(object, (int) offset, (int) length);
+        });
+        doAnswer(invocation -> objects.remove(invocation.<String>getArgument(0)))
+                .when(objectStore).deleteFile(anyString());
+        doAnswer(invocation -> {
+            invocation.<List<String>>getArgument(0).forEach(objects::remove);
+            return null;
+        }).when(objectStore).deleteFiles(anyList());
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        StorageConfig.Cdc config = new StorageConfig.Cdc();
+        config.setMinSize(2 * 1024);
+        config.setAvgSize(8 * 1024);
+        config.setMaxSize(32 * 1024);
+        adapter = new ContentDefinedStorageAdapter(objectStore, blobPort, config, transactionManager);
+    }
+
+    @Test
+    void downloadsWhatWasUploadedThroughTheManifest() throws IOException {
+        byte[] data = randomBytes(300 * 1024 + 17, 1);
+
+        String location = adapter.uploadFile(new ByteArrayInputStream(data), "a.bin", "application/octet-stream",
+                data.length, "user");
+
+        assertThat(location).startsWith("manifests/user/");
+        assertThat(new String(objects.get(location)).lines().findFirst()).hasValue("fastcdc-manifest v1 " + data.length);
+        try (InputStream in = adapter.downloadFile(location)) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+        assertThat(adapter.objectSize(location)).isEqualTo(data.length);
+    }
+
+    @Test
+    void rangedDownloadSpansChunkBoundaries() throws IOException {
+        byte[] data = randomBytes(200 * 1024, 2);
+        String location = adapter.uploadFile(new ByteArrayInputStream(data), "a.bin", "application/octet-stream",
+                data.length, "user");
+
+        for (long[] range : new long[][]{{0, 1}, {1000, 50_000}, {data.length - 10, 10}, {0, data.length}}) {
+            try (InputStream in = adapter.downloadFile(location, range[0], range[1])) {
+                assertThat(in.readAllBytes())
+                        .isEqualTo(Arrays.copyOfRange(data, (int) range[0], (int) (range[0] + range[1])));
+            }
+        }
+    }
+
+    @Test
+    void identicalContentSharesChunks() {
+        byte[] data = randomBytes(200 * 1024, 3);
+
+        adapter.uploadFile(new ByteArrayInputStream(data), "a.bin", "application/octet-stream", data.length, "user");
+        long chunkObjects = chunkObjectCount();
+        adapter.uploadFile(new ByteArrayInputStream(data), "b.bin", "application/octet-stream", data.length, "user");
+
+        assertThat(chunkObjectCount()).isEqualTo(chunkObjects);
+        assertThat(blobPort.refCounts.values()).allMatch(count -> count >= 2);
+    }
+
+    @Test
+    void deletingLastReferenceRemovesChunks() {
+        byte[] data = randomBytes(100 * 1024, 4);
+        String first = adapter.uploadFile(new ByteArrayInputStream(data), "a.bin", "application/octet-stream",
+                data.length, "user");
+        String second = adapter.uploadFile(new ByteArrayInputStream(data), "b.bin", "application/octet-stream",
+                data.length, "user");
+
+        adapter.deleteFile(first);
+        assertThat(chunkObjectCount()).isPositive();
+        assertThat(objects).doesNotContainKey(first);
+
+        adapter.deleteFile(second);
+        assertThat(chunkObjectCount()).isZero();
+        assertThat(blobPort.refCounts).isEmpty();
+    }
+
+    @Test
+    void chunkObjectIsDeletedBeforeItsReleaseCommits() {
+        byte[] data = randomBytes(10 * 1024, 6);
+        String location = adapter.uploadFile(new ByteArrayInputStream(data), "a.bin", "application/octet-stream",
+                data.length, "user");
+        clearInvocations(objectStore, transactionManager);
+
+        adapter.deleteFile(location);
+
+        InOrder order = inOrder(objectStore, transactionManager);
+        order.verify(objectStore).deleteFile(startsWith("chunks/"));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void sizeMismatchReleasesChunks() {
+        byte[] data = randomBytes(100 * 1024, 5);
+
+        assertThatThrownBy(() -> adapter.uploadFile(new ByteArrayInputStream(data), "a.bin",
+                "application/octet-stream", data.length + 1, "user"))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(chunkObjectCount()).isZero();
+        assertThat(blobPort.refCounts).isEmpty();
+    }
+
+    private byte[] object(String location) {
+        byte[] object = objects.get(location);
+        if (object == null) {
+            throw new RuntimeException("No such object: " + location);
+        }
+        return object;
+    }
+
+    private long chunkObjectCount() {
+        return objects.keySet().stream().filter(key -> key.startsWith("chunks/")).count();
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static class InMemoryBlobPort implements BlobPort {
+
+        private final Map<String, Long> refCounts = new HashMap<>();
+        private final Map<String, Blob> blobs = new HashMap<>();
+
+        @Override
+        public Optional<Blob> findByChecksum(String checksum) {
+            return Optional.ofNullable(blobs.get(checksum));
+        }
+
+        @Override
+        public Optional<Blob> acquire(String checksum) {
+            if (!blobs.containsKey(checksum)) {
+                return Optional.empty();
+            }
+            refCounts.merge(checksum, 1L, Long::sum);
+            return Optional.of(blobs.get(checksum));
+        }
+
+        @Override
+        public Blob register(String checksum, String storageLocation, long size) {
+            refCounts.merge(checksum, 1L, Long::sum);
+            return blobs.computeIfAbsent(checksum, key -> Blob.builder()
+                    .checksum(checksum)
+                    .storageLocation(storageLocation)
+                    .size(size)
+                    .build());
+        }
+
+        @Override
+        public Optional<Blob> release(String checksum) {
+            Long remaining = refCounts.computeIfPresent(checksum, (key, count) -> count > 1 ? count - 1 : null);
+            if (remaining != null || !blobs.containsKey(checksum)) {
+                return Optional.empty();
+            }
+            return Optional.of(blobs.remove(checksum));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.file_storage.infrastructure.storage;
+
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.infrastructure.config.StorageConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalCacheStorageAdapterTest {
+
+    private static final String LOCATION = "user/object.bin";
+
+    @TempDir
+    Path directory;
+
+    private final FileStoragePort delegate = mock(FileStoragePort.class);
+    private final StorageConfig.LocalCache config = new StorageConfig.LocalCache();
+    private final byte[] data = randomBytes(300 * 1024);
+    private LocalCacheStorageAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        config.setDirectory(directory.toString());
+        adapter = new LocalCacheStorageAdapter(delegate, config, new SimpleMeterRegistry());
+        when(delegate.objectSize(LOCATION)).thenReturn((long) data.length);
+    }
+
+    @Test
+    void concurrentMissesJoinOneFill() throws Exception {
+        GatedStream source = new GatedStream(data, 1024);
+        when(delegate.downloadFile(LOCATION)).thenReturn(source);
+
+        try (InputStream first = adapter.downloadFile(LOCATION);
+             InputStream second = adapter.downloadFile(LOCATION)) {
+            source.open();
+            assertThat(first.readAllBytes()).isEqualTo(data);
+            assertThat(second.readAllBytes()).isEqualTo(data);
+        }
+
+        awaitCached(LOCATION);
+        try (InputStream hit = adapter.downloadFile(LOCATION)) {
+            assertThat(hit.readAllBytes()).isEqualTo(data);
+        }
+        verify(delegate, times(1)).downloadFile(LOCATION);
+    }
+
+    @Test
+    void failedFillReachesEveryReaderAndIsNotCached() throws Exception {
+        GatedStream failing = new GatedStream(data, 1024);
+        failing.failAfterGate = true;
+        when(delegate.downloadFile(LOCATION)).thenReturn(failing, new ByteArrayInputStream(data));
+
+        try (InputStream first = adapter.downloadFile(LOCATION);
+             InputStream second = adapter.downloadFile(LOCATION)) {
+            failing.open();
+            assertThatThrownBy(first::readAllBytes).isInstanceOf(IOException.class);
+            assertThatThrownBy(second::readAllBytes).isInstanceOf(IOException.class);
+        }
+
+        assertThat(adapter.findLocalCopy(LOCATION)).isEmpty();
+        try (InputStream retry = adapter.downloadFile(LOCATION)) {
+            assertThat(retry.readAllBytes()).isEqualTo(data);
+        }
+        verify(delegate, times(2)).downloadFile(LOCATION);
+    }
+
+    @Test
+    void fillsInProgressCountTowardsTheBound() throws Exception {
+        config.setMaxSize(data.length + data.length / 2);
+        GatedStream source = new GatedStream(data, 1024);
+        InputStream uncached = new ByteArrayInputStream(data);
+        when(delegate.downloadFile(LOCATION)).thenReturn(source);
+        when(delegate.objectSize("other")).thenReturn((long) data.length);
+        when(delegate.downloadFile("other")).thenReturn(uncached, new ByteArrayInputStream(data));
+
+        try (InputStream filling = adapter.downloadFile(LOCATION)) {
+            try (InputStream other = adapter.downloadFile("other")) {
+                assertThat(other).isSameAs(uncached);
+            }
+            source.open();
+            assertThat(filling.readAllBytes()).isEqualTo(data);
+        }
+        awaitCached(LOCATION);
+
+        try (InputStream other = adapter.downloadFile("other")) {
+            assertThat(other.readAllBytes()).isEqualTo(data);
+        }
+        awaitCached("other");
+        assertThat(adapter.findLocalCopy(LOCATION)).isEmpty();
+    }
+
+    @Test
+    void evictedFilesAreDeletedOnceTheirDelayHasPassed() throws Exception {
+        config.setDeleteDelay(Duration.ofMillis(200));
+        when(delegate.downloadFile(LOCATION)).thenReturn(new ByteArrayInputStream(data));
+        try (InputStream in = adapter.downloadFile(LOCATION)) {
+            in.readAllBytes();
+        }
+        awaitCached(LOCATION);
+        Path cached = adapter.findLocalCopy(LOCATION).orElseThrow();
+
+        adapter.deleteFile(LOCATION);
+        adapter.deleteEvicted();
+        assertThat(adapter.findLocalCopy(LOCATION)).isEmpty();
+        assertThat(cached).exists();
+
+        Thread.sleep(300);
+        adapter.deleteEvicted();
+        assertThat(cached).doesNotExist();
+    }
+
+    private void awaitCached(String location) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (adapter.findLocalCopy(location).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(adapter.findLocalCopy(location)).isPresent();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(11).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Serves the first {@code gateAt} bytes at once and the rest only after {@link #open()}.
+     */
+    private static class GatedStream extends InputStream {
+        private final byte[] data;
+        private final int gateAt;
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private boolean failAfterGate;
+        private int position;
+
+        GatedStream(byte[] data, int gateAt) {
+            this.data = data;
+            this.gateAt = gateAt;
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= data.length) {
+                return -1;
+            }
+            if (position >= gateAt) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                if (failAfterGate) {
+                    throw new IOException("Connection reset");
+                }
+            }
+            int limit = position < gateAt ? gateAt : data.length;
+            int n = Math.min(len, limit - position);
+            System.arraycopy(data, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.file_storage.infrastructure.storage;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compares a single GET stream with {@link ParallelRangeInputStream} against a real MinIO.
+ * Runs only through {@code ./gradlew benchmark} with {@code MINIO_BENCHMARK_ENDPOINT} set,
+ * e.g. against the MinIO from docker-compose.
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "MINIO_BENCHMARK_ENDPOINT", matches = ".+")
+class ParallelRangeDownloadBenchmark {
+
+    private static final String OBJECT_NAME = "benchmark/parallel-range-download";
+    private static final long OBJECT_SIZE = Long.getLong("benchmark.objectSize", 512L * 1024 * 1024);
+    private static final long RANGE_SIZE = 8L * 1024 * 1024;
+    private static final int ROUNDS = 3;
+
+    private static MinioClient minioClient;
+    private static String bucket;
+
+    @BeforeAll
+    static void uploadObject() throws Exception {
+        minioClient = MinioClient.builder()
+                .endpoint(System.getenv("MINIO_BENCHMARK_ENDPOINT"))
+                .credentials(env("MINIO_BENCHMARK_ACCESS_KEY", "minioadmin"),
+                        env("MINIO_BENCHMARK_SECRET_KEY", "minioadmin"))
+                .build();
+        bucket = env("MINIO_BENCHMARK_BUCKET", "benchmark");
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+        }
+        minioClient.putObject(PutObjectArgs.builder()
+                .bucket(bucket)
+                .object(OBJECT_NAME)
+                .stream(new RandomInputStream(OBJECT_SIZE), OBJECT_SIZE, -1)
+                .build());
+    }
+
+    @AfterAll
+    static void removeObject() throws Exception {
+        minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucket).object(OBJECT_NAME).build());
+    }
+
+    @Test
+    void singleStreamVersusParallelRanges() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Warm up connections and the server's page cache before measuring
+            drain(singleStream());
+            for (int round = 1; round <= ROUNDS; round++) {
+                report("single stream", round, time(this::singleStream));
+                for (int concurrency : new int[]{2, 4, 8}) {
+                    report("parallel x" + concurrency, round,
+                            time(() -> parallel(executor, concurrency, concurrency + 2)));
+                }
+            }
+        }
+    }
+
+    private InputStream singleStream() throws Exception {
+        return minioClient.getObject(GetObjectArgs.builder().bucket(bucket).object(OBJECT_NAME).build());
+    }
+
+    private InputStream parallel(ExecutorService executor, int concurrency, int window) {
+        return new ParallelRangeInputStream((offset, length) -> {
+            try (InputStream range = minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(OBJECT_NAME)
+                    .offset(offset)
+                    .length(length)
+                    .build())) {
+                return range.readAllBytes();
+            }
+        }, executor, 0, OBJECT_SIZE, RANGE_SIZE, concurrency, window);
+    }
+
+    private long time(StreamSource source) throws Exception {
+        long start = System.nanoTime();
+        long read = drain(source.open());
+        long elapsed = System.nanoTime() - start;
+        if (read != OBJECT_SIZE) {
+            throw new IllegalStateException("Read " + read + " of " + OBJECT_SIZE + " bytes");
+        }
+        return elapsed;
+    }
+
+    private static long drain(InputStream in) throws Exception {
+        try (in) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void report(String variant, int round, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-14s round %d: %6.2f s, %8.1f MB/s%n",
+                variant, round, seconds, OBJECT_SIZE / seconds / (1024 * 1024));
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @FunctionalInterface
+    private interface StreamSource {
+        InputStream open() throws Exception;
+    }
+
+    /**
+     * Incompressible content without holding the object in memory.
+     */
+    private static class RandomInputStream extends InputStream {
+
+        private final Random random = new Random(42);
+        private long remaining;
+
+        RandomInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return random.nextInt(256);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, remaining);
+            byte[] chunk = new byte[n];
+            random.nextBytes(chunk);
+            System.arraycopy(chunk, 0, b, off, n);
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.file_storage.infrastructure.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelRangeInputStreamTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void returnsRangesInOrderWhenTheyCompleteOutOfOrder() throws IOException {
+        ParallelRangeInputStream.RangeReader reader = (offset, length) -> {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+            return content(offset, length);
+        };
+
+        try (InputStream in = new ParallelRangeInputStream(reader, executor, 100, 1000, 64, 4, 8)) {
+            assertThat(in.readAllBytes()).isEqualTo(content(100, 1000));
+        }
+    }
+
+    @Test
+    void readsShortFinalRange() throws IOException {
+        try (InputStream in = new ParallelRangeInputStream(
+                ParallelRangeInputStreamTest::content, executor, 0, 130, 64, 2, 2)) {
+            assertThat(in.readAllBytes()).isEqualTo(content(0, 130));
+        }
+    }
+
+    @Test
+    void requestsNoMoreThanTheWindowAheadOfTheReader() throws Exception {
+        List<Long> requested = new CopyOnWriteArrayList<>();
+        ParallelRangeInputStream.RangeReader reader = (offset, length) -> {
+            requested.add(offset);
+            return content(offset, length);
+        };
+
+        try (InputStream in = new ParallelRangeInputStream(reader, executor, 0, 1000, 10, 4, 3)) {
+            awaitSize(requested, 3);
+            Thread.sleep(50);
+            assertThat(requested).hasSize(3);
+
+            in.readNBytes(10);
+            awaitSize(requested, 4);
+            Thread.sleep(50);
+            assertThat(requested).hasSize(4).allMatch(offset -> offset < 40);
+        }
+    }
+
+    @Test
+    void fetchesAtMostConcurrencyRangesAtOnce() throws IOException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ParallelRangeInputStream.RangeReader reader = (offset, length) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+                return content(offset, length);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+
+        try (InputStream in = new ParallelRangeInputStream(reader, executor, 0, 640, 32, 2, 8)) {
+            assertThat(in.readAllBytes()).isEqualTo(content(0, 640));
+        }
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void closeCancelsRangesInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch interrupted = new CountDownLatch(2);
+        ParallelRangeInputStream.RangeReader reader = (offset, length) -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return content(offset, length);
+        };
+
+        InputStream in = new ParallelRangeInputStream(reader, executor, 0, 100, 10, 2, 4);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        in.close();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(in::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void propagatesRangeFailures() {
+        IllegalStateException failure = new IllegalStateException("range failed");
+        ParallelRangeInputStream.RangeReader reader = (offset, length) -> {
+            if (offset == 20) {
+                throw failure;
+            }
+            return content(offset, length);
+        };
+
+        InputStream in = new ParallelRangeInputStream(reader, executor, 0, 100, 10, 2, 4);
+
+        assertThatThrownBy(in::readAllBytes)
+                .isInstanceOf(IOException.class)
+                .hasCause(failure);
+        assertThatThrownBy(in::read).isInstanceOf(IOException.class);
+    }
+
+    private static byte[] content(long offset, long length) {
+        byte[] bytes = new byte[(int) length];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ((offset + i) * 31);
+        }
+        return bytes;
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(list).hasSizeGreaterThanOrEqualTo(size);
+    }
+}
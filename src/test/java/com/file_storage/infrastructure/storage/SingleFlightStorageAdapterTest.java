@@ -0,0 +1,197 @@
+package com.file_storage.infrastructure.storage;
+
+import com.file_storage.application.port.out.FileStoragePort;
+import com.file_storage.infrastructure.config.StorageConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SingleFlightStorageAdapterTest {
+
+    private static final String LOCATION = "user/object.bin";
+
+    @TempDir
+    Path directory;
+
+    private final FileStoragePort delegate = mock(FileStoragePort.class);
+    private final StorageConfig.SingleFlight config = new StorageConfig.SingleFlight();
+    private final byte[] data = randomBytes(300 * 1024);
+    private SingleFlightStorageAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        config.setDirectory(directory.toString());
+        adapter = new SingleFlightStorageAdapter(delegate, config, new SimpleMeterRegistry());
+        when(delegate.objectSize(LOCATION)).thenReturn((long) data.length);
+    }
+
+    @Test
+    void concurrentReadersShareOneRead() throws Exception {
+        GatedStream source = new GatedStream(data, 1024);
+        when(delegate.downloadFile(LOCATION)).thenReturn(source);
+
+        try (InputStream first = adapter.downloadFile(LOCATION);
+             InputStream second = adapter.downloadFile(LOCATION)) {
+            source.open();
+            assertThat(first.readAllBytes()).isEqualTo(data);
+            assertThat(second.readAllBytes()).isEqualTo(data);
+        }
+
+        verify(delegate, times(1)).downloadFile(LOCATION);
+        awaitReleased();
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void failedReadReachesEveryReaderAndIsNotReused() throws Exception {
+        GatedStream failing = new GatedStream(data, 1024);
+        failing.failAfterGate = true;
+        when(delegate.downloadFile(LOCATION)).thenReturn(failing, new GatedStream(data, data.length));
+
+        InputStream first = adapter.downloadFile(LOCATION);
+        InputStream second = adapter.downloadFile(LOCATION);
+        failing.open();
+        assertThatThrownBy(first::readAllBytes).isInstanceOf(IOException.class);
+        assertThatThrownBy(second::readAllBytes).isInstanceOf(IOException.class);
+
+        try (InputStream retry = adapter.downloadFile(LOCATION)) {
+            assertThat(retry.readAllBytes()).isEqualTo(data);
+        }
+        first.close();
+        second.close();
+
+        verify(delegate, times(2)).downloadFile(LOCATION);
+        awaitReleased();
+    }
+
+    @Test
+    void readsBeyondTheSpoolBoundAreNotShared() throws Exception {
+        config.setMaxSpoolSize(data.length + 1024);
+        GatedStream source = new GatedStream(data, 1024);
+        when(delegate.downloadFile(LOCATION)).thenReturn(source, new GatedStream(data, data.length));
+        when(delegate.objectSize("other")).thenReturn((long) data.length);
+        when(delegate.downloadFile("other")).thenReturn(new GatedStream(data, data.length));
+
+        try (InputStream shared = adapter.downloadFile(LOCATION)) {
+            assertThat(adapter.spooledBytes()).isEqualTo(data.length);
+            try (InputStream direct = adapter.downloadFile("other")) {
+                assertThat(direct).isInstanceOf(GatedStream.class);
+            }
+            source.open();
+            assertThat(shared.readAllBytes()).isEqualTo(data);
+        }
+
+        awaitReleased();
+    }
+
+    @Test
+    void readIsAbandonedWhenEveryReaderLeaves() throws Exception {
+        GatedStream source = new GatedStream(data, 1024);
+        when(delegate.downloadFile(LOCATION)).thenReturn(source, new GatedStream(data, data.length));
+
+        InputStream first = adapter.downloadFile(LOCATION);
+        first.readNBytes(512);
+        first.close();
+        source.open();
+
+        assertThat(source.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        try (InputStream next = adapter.downloadFile(LOCATION)) {
+            assertThat(next.readAllBytes()).isEqualTo(data);
+        }
+        verify(delegate, times(2)).downloadFile(LOCATION);
+    }
+
+    /**
+     * The fill thread lets go of its reservation just after readers have seen the end.
+     */
+    private void awaitReleased() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (adapter.spooledBytes() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(adapter.spooledBytes()).isZero();
+    }
+
+    private long spoolFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(7).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Serves the first {@code gateAt} bytes at once and the rest only after {@link #open()}.
+     */
+    private static class GatedStream extends InputStream {
+        private final byte[] data;
+        private final int gateAt;
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private boolean failAfterGate;
+        private int position;
+
+        GatedStream(byte[] data, int gateAt) {
+            this.data = data;
+            this.gateAt = gateAt;
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= data.length) {
+                return -1;
+            }
+            if (position >= gateAt) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                if (failAfterGate) {
+                    throw new IOException("Connection reset");
+                }
+            }
+            int limit = position < gateAt ? gateAt : data.length;
+            int n = Math.min(len, limit - position);
+            System.arraycopy(data, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.file_storage.infrastructure.storage.chunking;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FastCdcChunkerTest {
+
+    private static final int MIN_SIZE = 2 * 1024;
+    private static final int AVG_SIZE = 8 * 1024;
+    private static final int MAX_SIZE = 32 * 1024;
+
+    @Test
+    void chunksConcatenateBackToInput() throws IOException {
+        byte[] data = randomBytes(1024 * 1024 + 123, 1);
+
+        List<byte[]> chunks = chunk(new ByteArrayInputStream(data));
+
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        chunks.forEach(joined::writeBytes);
+        assertThat(joined.toByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    void chunkSizesStayWithinBounds() throws IOException {
+        List<byte[]> chunks = chunk(new ByteArrayInputStream(randomBytes(2 * 1024 * 1024, 2)));
+
+        for (byte[] chunk : chunks.subList(0, chunks.size() - 1)) {
+            assertThat(chunk.length).isGreaterThan(MIN_SIZE).isLessThanOrEqualTo(MAX_SIZE);
+        }
+        assertThat(chunks.getLast().length).isLessThanOrEqualTo(MAX_SIZE);
+        // Normalized chunking keeps the average close to the target
+        double average = 2.0 * 1024 * 1024 / chunks.size();
+        assertThat(average).isBetween(AVG_SIZE / 2.0, AVG_SIZE * 2.0);
+    }
+
+    @Test
+    void cutPointsDoNotDependOnHowTheStreamIsRead() throws IOException {
+        byte[] data = randomBytes(512 * 1024, 3);
+
+        List<byte[]> whole = chunk(new ByteArrayInputStream(data));
+        List<byte[]> trickled = chunk(new TrickleInputStream(data, 1000));
+
+        assertThat(trickled).hasSameSizeAs(whole);
+        for (int i = 0; i < whole.size(); i++) {
+            assertThat(trickled.get(i)).isEqualTo(whole.get(i));
+        }
+    }
+
+    @Test
+    void insertNearStartOnlyChangesNearbyChunks() throws IOException {
+        byte[] data = randomBytes(1024 * 1024, 4);
+        byte[] edited = new byte[data.length + 100];
+        System.arraycopy(data, 0, edited, 0, 5000);
+        System.arraycopy(randomBytes(100, 5), 0, edited, 5000, 100);
+        System.arraycopy(data, 5000, edited, 5100, data.length - 5000);
+
+        List<byte[]> original = chunk(new ByteArrayInputStream(data));
+        List<byte[]> changed = chunk(new ByteArrayInputStream(edited));
+
+        Set<ByteBuffer> originalChunks = new HashSet<>();
+        original.forEach(chunk -> originalChunks.add(ByteBuffer.wrap(chunk)));
+        long shared = changed.stream().filter(chunk -> originalChunks.contains(ByteBuffer.wrap(chunk))).count();
+        assertThat(shared).isGreaterThanOrEqualTo(original.size() - 3);
+    }
+
+    @Test
+    void emptyStreamHasNoChunks() throws IOException {
+        FastCdcChunker chunker = new FastCdcChunker(new ByteArrayInputStream(new byte[0]), MIN_SIZE, AVG_SIZE, MAX_SIZE);
+
+        assertThat(chunker.nextChunk()).isNull();
+    }
+
+    @Test
+    void rejectsInvalidSizes() {
+        InputStream in = new ByteArrayInputStream(new byte[0]);
+
+        assertThatThrownBy(() -> new FastCdcChunker(in, MIN_SIZE, 6000, MAX_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FastCdcChunker(in, AVG_SIZE, AVG_SIZE, MAX_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FastCdcChunker(in, MIN_SIZE, AVG_SIZE, AVG_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<byte[]> chunk(InputStream in) throws IOException {
+        FastCdcChunker chunker = new FastCdcChunker(in, MIN_SIZE, AVG_SIZE, MAX_SIZE);
+        List<byte[]> chunks = new ArrayList<>();
+        byte[] chunk;
+        while ((chunk = chunker.nextChunk()) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns at most {@code maxRead} bytes per read, like a slow network stream.
+     */
+    private static class TrickleInputStream extends ByteArrayInputStream {
+
+        private final int maxRead;
+
+        TrickleInputStream(byte[] data, int maxRead) {
+            super(data);
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, maxRead));
+        }
+    }
+}